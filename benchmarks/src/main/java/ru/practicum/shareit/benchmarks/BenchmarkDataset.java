@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic owners, items, bookings and comments for the benchmarks.
+ * The same shapes are built in memory for mapper benchmarks and saved to embedded H2 for service benchmarks.
+ */
+public final class BenchmarkDataset {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkDataset() {
+    }
+
+    public static User user(long id) {
+        return User.builder().id(id).name("user" + id).email("user" + id + "@mail.ru").build();
+    }
+
+    public static Item item(long id, User owner) {
+        return Item.builder().id(id).name("item" + id).description("description of item " + id)
+                .available(true).owner(owner).build();
+    }
+
+    public static Booking booking(long id, Item item, User booker, long dayOffset) {
+        return Booking.builder().id(id).item(item).booker(booker)
+                .start(NOW.plusDays(dayOffset)).end(NOW.plusDays(dayOffset).plusHours(2))
+                .status(BookingStatus.APPROVED).build();
+    }
+
+    public static List<Comment> comments(long firstId, Item item, User author, int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder().id(firstId + i).item(item).author(author)
+                    .text("comment " + i + " on " + item.getName()).created(NOW.minusDays(i)).build());
+        }
+        return comments;
+    }
+
+    /**
+     * Saves one owner with {@code items} items, each with a past and a future booking and {@code commentsPerItem}
+     * comments, and returns the owner id.
+     */
+    public static long populate(UserRepository userRepository, ItemRepository itemRepository,
+                                BookingRepository bookingRepository, CommentRepository commentRepository,
+                                ItemBookingSummaryService itemBookingSummaryService,
+                                int items, int commentsPerItem) {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < items; i++) {
+            Item item = itemRepository.save(Item.builder().name("item" + i).description("description of item " + i)
+                    .available(true).owner(owner).build());
+            bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(now.minusDays(2)).end(now.minusDays(1)).build());
+            bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .start(now.plusDays(1)).end(now.plusDays(2)).build());
+            List<Comment> comments = comments(0, item, booker, commentsPerItem);
+            comments.forEach(comment -> comment.setId(null));
+            commentRepository.saveAll(comments);
+            itemBookingSummaryService.track(item.getId());
+            itemBookingSummaryService.refresh(item.getId());
+        }
+        return owner.getId();
+    }
+}
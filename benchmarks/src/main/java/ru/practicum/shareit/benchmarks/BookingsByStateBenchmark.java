@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareitServer;
+import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BookingService.getByStateOwner} on embedded H2 for known states and for an unknown one,
+ * which is rejected with {@link UnsupportedStatusException} before any booking query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingsByStateBenchmark {
+    private static final int ITEMS = 20;
+
+    @Param({"past", "FUTURE", "UNSUPPORTED"})
+    private String state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareitServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks", "logging.level.root=WARN")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        ownerId = BenchmarkDataset.populate(context.getBean(UserRepository.class), context.getBean(ItemRepository.class),
+                context.getBean(BookingRepository.class), context.getBean(CommentRepository.class),
+                context.getBean(ItemBookingSummaryService.class), ITEMS, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getByStateOwner() {
+        try {
+            return bookingService.getByStateOwner(ownerId, state, 0, ITEMS);
+        } catch (UnsupportedStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exception.DomainException;
+import ru.practicum.shareit.handler.ExceptionsHandler;
+import ru.practicum.shareit.item.exception.AbsenceException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 404 for a missing id: {@link AbsenceException} thrown {@code depth} frames below the handler and turned
+ * into the response body, with and without stack traces. A request through Tomcat, Spring MVC filters and
+ * AOP proxies is roughly 100-150 frames deep, so the deeper setting is closer to production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainExceptionBenchmark {
+
+    @Param({"false", "true"})
+    private boolean stackTraces;
+
+    @Param({"10", "120"})
+    private int depth;
+
+    private final ExceptionsHandler handler = new ExceptionsHandler();
+
+    @Setup
+    public void setUp() {
+        DomainException.setStackTraces(stackTraces);
+    }
+
+    @Benchmark
+    public Map<String, String> missingUser() {
+        try {
+            return findUser(depth);
+        } catch (AbsenceException e) {
+            return handler.handleAbsenceException(e);
+        }
+    }
+
+    private Map<String, String> findUser(int remaining) {
+        if (remaining == 0) {
+            throw new AbsenceException("User not exists");
+        }
+        return findUser(remaining - 1);
+    }
+}
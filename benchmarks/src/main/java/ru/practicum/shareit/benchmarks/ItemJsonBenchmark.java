@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.comment.mapper.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDtoBookingComments;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemJsonBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int comments;
+
+    private ObjectWriter writer;
+    private ItemDtoBookingComments itemDto;
+
+    @Setup
+    public void setUp() {
+        // Те же настройки, что Spring Boot применяет к ObjectMapper сервера
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(ItemDtoBookingComments.class);
+
+        ItemMapper itemMapper = new ItemMapper(new CommentMapper());
+        BookingMapper bookingMapper = new BookingMapper(new UserMapper(), itemMapper);
+        User owner = BenchmarkDataset.user(1);
+        User booker = BenchmarkDataset.user(2);
+        Item item = BenchmarkDataset.item(1, owner);
+        itemDto = itemMapper.toItemDtoBookingComments(item, BenchmarkDataset.comments(1, item, booker, comments));
+        itemDto.setLastBooking(bookingMapper.toBookingDto(BenchmarkDataset.booking(1, item, booker, -1)));
+        itemDto.setNextBooking(bookingMapper.toBookingDto(BenchmarkDataset.booking(2, item, booker, 1)));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(itemDto);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code InvertedIndexItemSearchEngine.search} over a synthetic catalogue: names and descriptions are drawn from
+ * a fixed vocabulary of random words, so a one-letter query unions the posting lists of about 1/26 of all terms.
+ * Sample mode reports the latency percentiles of a first page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemSearchBenchmark {
+    private static final int VOCABULARY = 20_000;
+    private static final int NAME_WORDS = 2;
+    private static final int DESCRIPTION_WORDS = 6;
+
+    @Param({"100000", "1000000"})
+    private int items;
+
+    @Param({"k", "kor", "k m"})
+    private String text;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private InvertedIndexItemSearchEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+        engine = new InvertedIndexItemSearchEngine(repository(vocabulary, items));
+        engine.rebuild();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        return engine.search(text, firstPage);
+    }
+
+    // Отдаёт вещи 1..count пачками, как findAvailableAfter в базе
+    private static ItemRepository repository(String[] vocabulary, int count) {
+        return (ItemRepository) Proxy.newProxyInstance(ItemRepository.class.getClassLoader(),
+                new Class<?>[]{ItemRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findAvailableAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long after = (Long) args[0];
+                    Pageable pageable = (Pageable) args[1];
+                    List<Item> batch = new ArrayList<>(pageable.getPageSize());
+                    for (long id = after + 1; id <= count && batch.size() < pageable.getPageSize(); id++) {
+                        batch.add(item(id, vocabulary));
+                    }
+                    return batch;
+                });
+    }
+
+    private static Item item(long id, String[] vocabulary) {
+        Random random = new Random(id);
+        return Item.builder()
+                .id(id)
+                .name(words(random, vocabulary, NAME_WORDS))
+                .description(words(random, vocabulary, DESCRIPTION_WORDS))
+                .available(true)
+                .owner(BenchmarkDataset.user(id % 1000 + 1))
+                .build();
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
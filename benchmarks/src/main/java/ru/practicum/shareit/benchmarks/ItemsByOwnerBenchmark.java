@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareitServer;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemDtoBookingComments;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ItemService.getItemsByOwner} on embedded H2: queries plus grouping of comments and bookings per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemsByOwnerBenchmark {
+
+    @Param({"10", "100"})
+    private int items;
+
+    @Param({"0", "5"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private TransactionTemplate requestScope;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareitServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks", "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        // В приложении ленивые связи дочитываются в open-in-view сессии запроса, здесь её заменяет транзакция
+        requestScope = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        requestScope.setReadOnly(true);
+        ownerId = BenchmarkDataset.populate(context.getBean(UserRepository.class), context.getBean(ItemRepository.class),
+                context.getBean(BookingRepository.class), context.getBean(CommentRepository.class),
+                context.getBean(ItemBookingSummaryService.class), items, commentsPerItem);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoBookingComments> getItemsByOwner() {
+        return requestScope.execute(status -> itemService.getItemsByOwner(ownerId, 0, items));
+    }
+}
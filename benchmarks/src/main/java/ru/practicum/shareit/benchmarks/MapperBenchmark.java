@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.mapper.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDtoBookingComments;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int comments;
+
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private Booking booking;
+    private Item item;
+    private List<Comment> commentList;
+
+    @Setup
+    public void setUp() {
+        itemMapper = new ItemMapper(new CommentMapper());
+        bookingMapper = new BookingMapper(new UserMapper(), itemMapper);
+        User owner = BenchmarkDataset.user(1);
+        User booker = BenchmarkDataset.user(2);
+        item = BenchmarkDataset.item(1, owner);
+        booking = BenchmarkDataset.booking(1, item, booker, 1);
+        commentList = BenchmarkDataset.comments(1, item, booker, comments);
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemDtoBookingComments toItemDtoBookingComments() {
+        return itemMapper.toItemDtoBookingComments(item, commentList);
+    }
+}
@@ -1,51 +1,54 @@
 package ru.practicum.shareit.booking.client;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 
+import java.util.HashMap;
 import java.util.Map;
 
-@Service
-public class BookingClient extends BaseClient {
+public class BookingClient<R> extends BaseClient<R> {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport<R> transport) {
+        super(transport, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getBookings(Long ownerId, BookingState state, Integer from, Integer size) {
+    public R getBookings(Long ownerId, BookingState state, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("?state={state}&after={after}&size={size}", ownerId, cursorParameters(state, after, size));
+        }
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> addBooking(Long ownerId, BookItemRequestDto requestDto) {
+    public R addBooking(Long ownerId, BookItemRequestDto requestDto) {
         return post("", ownerId, requestDto);
     }
 
-    public ResponseEntity<Object> getById(Long ownerId, Long bookingId) {
+    public R getById(Long ownerId, Long bookingId) {
         return get("/" + bookingId, ownerId, null);
     }
 
-    public ResponseEntity<Object> getUserItemsBooking(Long ownerId, BookingState state, Integer from, Integer size) {
+    public R getUserItemsBooking(Long ownerId, BookingState state, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("/owner?state={state}&after={after}&size={size}", ownerId,
+                    cursorParameters(state, after, size));
+        }
         Map<String, Object> parameters = Map.of("state", state.name(), "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> editBookingStatus(Long ownerId, Long bookingId, String approved) {
+    public R editBookingStatus(Long ownerId, Long bookingId, String approved) {
         return patch("/" + bookingId + "?approved=" + approved, ownerId);
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> cursorParameters(BookingState state, String after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("after", after);
+        parameters.put("size", size);
+        return parameters;
+    }
+}
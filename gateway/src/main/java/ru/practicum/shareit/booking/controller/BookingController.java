@@ -1,63 +1,86 @@
 package ru.practicum.shareit.booking.controller;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ServerTransport;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@Controller
 @RequestMapping(path = "/bookings")
-@RequiredArgsConstructor
 @Slf4j
 @Validated
-public class BookingController {
-	private final BookingClient bookingClient;
+public abstract class BookingController<R> {
+	private final BookingClient<R> bookingClient;
+
+	protected BookingController(ServerTransport<R> transport) {
+		this.bookingClient = new BookingClient<>(transport);
+	}
 
 	@GetMapping
-	public ResponseEntity<Object> getUserBookingList(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-													 @RequestParam(name = "state", defaultValue = "all") String stateParam,
-													 @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-													 @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+	public R getUserBookingList(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+								@RequestParam(name = "state", defaultValue = "all") String stateParam,
+								@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+								@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+								@RequestParam(name = "after", required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException(stateParam));
-		return bookingClient.getBookings(ownerId, state, from, size);
+		return bookingClient.getBookings(ownerId, state, from, size, after);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> addBooking(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-											 @RequestBody @Valid BookItemRequestDto requestDto) {
+	public R addBooking(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+						@RequestBody @Valid BookItemRequestDto requestDto) {
 		return bookingClient.addBooking(ownerId, requestDto);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-										  @PathVariable Long bookingId) {
+	public R getById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+					 @PathVariable Long bookingId) {
 		return bookingClient.getById(ownerId, bookingId);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getUserItemsBooking(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-													  @RequestParam(name = "state", defaultValue = "all") String stateParam,
-													  @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-													  @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
+	public R getUserItemsBooking(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+								 @RequestParam(name = "state", defaultValue = "all") String stateParam,
+								 @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
+								 @RequestParam(required = false, defaultValue = "10") @Positive Integer size,
+								 @RequestParam(name = "after", required = false) String after) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException(stateParam));
-		return bookingClient.getUserItemsBooking(ownerId, state, from, size);
+		return bookingClient.getUserItemsBooking(ownerId, state, from, size, after);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> editBookingStatus(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-													@PathVariable Long bookingId,
-													@RequestParam String approved) {
+	public R editBookingStatus(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+							   @PathVariable Long bookingId,
+							   @RequestParam String approved) {
 		return bookingClient.editBookingStatus(ownerId, bookingId, approved);
 	}
-}
\ No newline at end of file
+
+	@RestController
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	public static class Servlet extends BookingController<ResponseEntity<Object>> {
+		public Servlet(ServerTransport<ResponseEntity<Object>> transport) {
+			super(transport);
+		}
+	}
+
+	@RestController
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	public static class Reactive extends BookingController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+		public Reactive(ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> transport) {
+			super(transport);
+		}
+	}
+}
@@ -1,99 +1,52 @@
 package ru.practicum.shareit.client;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
+import org.springframework.http.HttpMethod;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
 import java.util.Map;
 
-@Slf4j
-public class BaseClient {
-    protected final RestTemplate rest;
+/**
+ * Base of the per-resource clients: builds paths under the resource prefix and hands requests to
+ * the {@link ServerTransport} of the current mode.
+ */
+public class BaseClient<R> {
+    private final ServerTransport<R> transport;
+    private final String prefix;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerTransport<R> transport, String prefix) {
+        this.transport = transport;
+        this.prefix = prefix;
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
-        return post(path, null, null, body);
+    protected <T> R post(String path, T body) {
+        return post(path, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long ownerId, T body) {
-        return post(path, ownerId, null, body);
+    protected <T> R post(String path, @Nullable Long ownerId, T body) {
+        return transport.exchange(HttpMethod.POST, prefix + path, ownerId, null, body);
     }
 
-    protected ResponseEntity<Object> get(String path, Long ownerId) {
+    protected R get(String path, @Nullable Long ownerId) {
         return get(path, ownerId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
-        return delete(path, null, null);
+    protected R get(String path, @Nullable Long ownerId, @Nullable Map<String, Object> parameters) {
+        return transport.exchange(HttpMethod.GET, prefix + path, ownerId, parameters, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long ownerId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, ownerId, parameters, null);
+    protected R getRevalidated(String path, Long ownerId) {
+        return transport.getRevalidated(prefix + path, ownerId);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long ownerId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, ownerId, parameters, body);
+    protected R patch(String path, Long ownerId) {
+        return patch(path, ownerId, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long ownerId) {
-        return patch(path, ownerId, null, null);
+    protected <T> R patch(String path, Long ownerId, @Nullable T body) {
+        return transport.exchange(HttpMethod.PATCH, prefix + path, ownerId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long ownerId, T body) {
-        return patch(path, ownerId, null, body);
+    protected R delete(String path) {
+        return transport.exchange(HttpMethod.DELETE, prefix + path, null, null, null);
     }
-
-    protected <T> ResponseEntity<Object> patch(String path, Long ownerId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, ownerId, parameters, body);
-    }
-
-    protected ResponseEntity<Object> delete(String path, Long ownerId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, ownerId, parameters, null);
-    }
-
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long ownerId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(ownerId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
-    }
-
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
-        }
-        return headers;
-    }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Reactive mode ({@code spring.main.web-application-type=reactive}) serves clients from Netty.
+ * Spring Boot would otherwise pick Tomcat, which is on the classpath for the blocking mode.
+ * The connection pool to shareit-server is bounded by the same {@code shareit-server.http.*} properties
+ * as the blocking {@link HttpClientConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGatewayConfig {
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(
+            @Value("${shareit-server.http.max-per-route:100}") int maxPerRoute,
+            @Value("${shareit-server.http.connection-request-timeout:PT1S}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.keep-alive:PT30S}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-eviction:PT30S}") Duration idleEviction) {
+        ReactorResourceFactory resourceFactory = new ReactorResourceFactory();
+        // С глобальными ресурсами Reactor Netty пул из supplier не используется
+        resourceFactory.setUseGlobalResources(false);
+        // Пул Reactor Netty создаётся на каждый адрес, поэтому его размер - это лимит на маршрут
+        resourceFactory.setConnectionProviderSupplier(() -> ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxPerRoute)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build());
+        return resourceFactory;
+    }
+
+    @Bean
+    public ReactorClientHttpConnector shareitServerConnector(
+            ReactorResourceFactory reactorResourceFactory,
+            @Value("${shareit-server.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:PT10S}") Duration readTimeout) {
+        return new ReactorClientHttpConnector(reactorResourceFactory, httpClient -> httpClient
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ReactorResourceFactory reactorResourceFactory) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        // Сервер и WebClient делят event loop, ответ сервера пишется клиенту без смены потока
+        factory.setResourceFactory(reactorResourceFactory);
+        return factory;
+    }
+}
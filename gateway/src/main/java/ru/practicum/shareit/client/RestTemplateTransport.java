@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.*;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Blocking transport of the servlet mode. Calls go through the shared pooled HttpClient and the
+ * single-flight interceptor; {@link #getRevalidated} keeps responses in {@link RevalidatingResponseCache}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RestTemplateTransport implements ServerTransport<ResponseEntity<Object>> {
+    private final RestTemplate rest;
+    private final RevalidatingResponseCache responseCache;
+
+    public RestTemplateTransport(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                                 RevalidatingResponseCache responseCache) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .build();
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public ResponseEntity<Object> getRevalidated(String path, @Nullable Long userId) {
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        RevalidatingResponseCache.Key key = new RevalidatingResponseCache.Key(uri, userId);
+        RevalidatingResponseCache.Entry cached = responseCache.lookup(key);
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        } catch (HttpStatusCodeException e) {
+            responseCache.invalidate(key);
+            return errorResponse(e);
+        }
+        if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return responseCache.notModified(cached);
+        }
+        responseCache.update(key, shareitServerResponse, ServerHeaders.forwarded(shareitServerResponse.getHeaders()));
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    @Override
+    public ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                           @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+
+        // Тело ответа не разбирается: шлюз отдаёт байты сервера вместе с его статусом и Content-Type
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return errorResponse(e);
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static ResponseEntity<Object> errorResponse(HttpStatusCodeException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                .headers(ServerHeaders.forwarded(e.getResponseHeaders()))
+                .body(e.getResponseBodyAsByteArray());
+    }
+
+    private static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        ServerHeaders.request(headers, userId);
+        return headers;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(ServerHeaders.forwarded(response.getHeaders()));
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
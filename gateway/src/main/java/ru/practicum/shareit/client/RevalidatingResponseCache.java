@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Server responses with a strong ETag, keyed by (URI, X-Sharer-User-Id) and bounded by body bytes.
+ * Entries are always revalidated with {@code If-None-Match}, so they can never be served stale.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RevalidatingResponseCache {
+    private final Cache<Key, Entry> responses;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    public RevalidatingResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.response-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${shareit-server.response-cache.expire-after-access:PT10M}") Duration expireAfterAccess) {
+        responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.getBody().length)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway-responses");
+        hits = Counter.builder("gateway.response.cache.revalidations")
+                .description("Cacheable requests: hit - answered from the cache after 304, miss - body transferred")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("gateway.response.cache.revalidations")
+                .description("Cacheable requests: hit - answered from the cache after 304, miss - body transferred")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        bytesSaved = Counter.builder("gateway.response.cache.bytes.saved")
+                .description("Response body bytes not transferred from the server thanks to 304")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.hit.ratio", this, RevalidatingResponseCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    @Nullable
+    Entry lookup(Key key) {
+        return responses.getIfPresent(key);
+    }
+
+    ResponseEntity<Object> notModified(Entry cached) {
+        hits.increment();
+        bytesSaved.increment(cached.getBody().length);
+        return ResponseEntity.ok().headers(cached.getHeaders()).body(cached.getBody());
+    }
+
+    void update(Key key, ResponseEntity<byte[]> response, HttpHeaders forwardedHeaders) {
+        misses.increment();
+        String etag = response.getHeaders().getETag();
+        // Слабые ETag не подходят: тело отдаётся клиенту побайтно
+        if (response.getStatusCode() == HttpStatus.OK && response.hasBody()
+                && etag != null && !etag.startsWith("W/")) {
+            responses.put(key, new Entry(etag, forwardedHeaders, response.getBody()));
+        } else {
+            responses.invalidate(key);
+        }
+    }
+
+    void invalidate(Key key) {
+        responses.invalidate(key);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    static class Key {
+        private final URI uri;
+        private final Long userId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+    }
+}
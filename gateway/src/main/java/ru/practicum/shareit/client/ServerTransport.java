@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Sends a gateway request to shareit-server and returns the server's status, headers and body unchanged,
+ * wrapped the way the web stack of the current mode expects: {@code ResponseEntity} in the servlet mode,
+ * {@code Mono<ResponseEntity<Flux<DataBuffer>>>} in the reactive one.
+ *
+ * @param <R> controller return type of the mode
+ */
+public interface ServerTransport<R> {
+
+    R exchange(HttpMethod method, String path, @Nullable Long userId, @Nullable Map<String, Object> parameters,
+               @Nullable Object body);
+
+    /**
+     * GET of a single resource. A transport with a response cache revalidates the cached copy by ETag,
+     * otherwise this is a plain GET.
+     */
+    R getRevalidated(String path, @Nullable Long userId);
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Merges concurrent identical GETs to the server into one call and hands every waiter its own copy of the response.
+ * Requests are identical when URI, X-Sharer-User-Id and If-None-Match match. A waiter gives up on the shared call
+ * after the client read timeout and sends its own request.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit-server.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    private final ConcurrentMap<Key, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter fallbacks;
+    private final Duration waitTimeout;
+
+    public SingleFlightInterceptor(MeterRegistry meterRegistry,
+                                   @Value("${shareit-server.http.read-timeout:PT10S}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        leaders = Counter.builder("gateway.single.flight.requests")
+                .description("GET requests to the server: leader - sent upstream, coalesced - joined an in-flight call")
+                .tag("result", "leader")
+                .register(meterRegistry);
+        coalesced = Counter.builder("gateway.single.flight.requests")
+                .description("GET requests to the server: leader - sent upstream, coalesced - joined an in-flight call")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        fallbacks = Counter.builder("gateway.single.flight.fallbacks")
+                .description("Coalesced GET requests sent on their own after the shared call timed out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        Key key = new Key(request.getURI(), request.getHeaders().getFirst("X-Sharer-User-Id"),
+                request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        CompletableFuture<BufferedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            ClientHttpResponse response = await(existing);
+            if (response != null) {
+                return response;
+            }
+            fallbacks.increment();
+            return execution.execute(request, body);
+        }
+
+        leaders.increment();
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            BufferedResponse buffered = new BufferedResponse(response.getRawStatusCode(), response.getStatusText(),
+                    HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+                    StreamUtils.copyToByteArray(response.getBody()));
+            flight.complete(buffered);
+            return buffered;
+        } catch (IOException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Следующий запрос после ответа снова идёт на сервер: это объединение, а не кэш
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // null - общий запрос не успел за waitTimeout
+    private ClientHttpResponse await(CompletableFuture<BufferedResponse> flight) throws IOException {
+        try {
+            return flight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final URI uri;
+        private final String userId;
+        private final String ifNoneMatch;
+    }
+
+    @AllArgsConstructor
+    private static class BufferedResponse implements ClientHttpResponse {
+        private final int rawStatusCode;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(rawStatusCode);
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return rawStatusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            // Каждый ожидающий читает тело из своего потока
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking transport of the reactive mode. The server's status, headers and body bytes are relayed
+ * as they arrive, so no payload is parsed and no thread waits for the server. The connection pool and
+ * timeouts come from {@link ReactiveGatewayConfig}.
+ * <p>
+ * Unlike {@link RestTemplateTransport}, there is no ETag response cache ({@link #getRevalidated} is a plain
+ * GET) and identical concurrent GETs are not coalesced into one server call.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientTransport implements ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+
+    private final WebClient webClient;
+
+    public WebClientTransport(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        this.webClient = builder.baseUrl(serverUrl).build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRevalidated(String path, @Nullable Long userId) {
+        return exchange(HttpMethod.GET, path, userId, null, null);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                           @Nullable Map<String, Object> parameters,
+                                                           @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> ServerHeaders.request(headers, userId));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.retrieve()
+                // Ошибки сервера отдаются клиенту как есть, вместе с телом
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(WebClientTransport::prepareGatewayResponse);
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(ServerHeaders.forwarded(response.getHeaders()))
+                .body(response.getBody());
+    }
+}
@@ -1,30 +1,18 @@
 package ru.practicum.shareit.comment.client;
-;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.comment.dto.CommentDto;
 
-@Service
-public class CommentClient extends BaseClient {
+public class CommentClient<R> extends BaseClient<R> {
 
     private static final String ITEM_API_PREFIX = "/items";
 
-    @Autowired
-    public CommentClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ITEM_API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public CommentClient(ServerTransport<R> transport) {
+        super(transport, ITEM_API_PREFIX);
     }
 
-    public ResponseEntity<Object> addComment(Long ownerId, Long itemId, CommentDto commentDto) {
+    public R addComment(Long ownerId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", ownerId, commentDto);
     }
-}
\ No newline at end of file
+}
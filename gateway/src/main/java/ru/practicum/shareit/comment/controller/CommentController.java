@@ -1,10 +1,14 @@
 package ru.practicum.shareit.comment.controller;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.comment.client.CommentClient;
 import ru.practicum.shareit.comment.dto.CommentDto;
 
@@ -12,16 +16,34 @@ import javax.validation.Valid;
 
 @Slf4j
 @Validated
-@AllArgsConstructor
-@RestController
 @RequestMapping("/items")
-public class CommentController {
+public abstract class CommentController<R> {
 
-    private CommentClient commentClient;
+    private final CommentClient<R> commentClient;
+
+    protected CommentController(ServerTransport<R> transport) {
+        this.commentClient = new CommentClient<>(transport);
+    }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                             @PathVariable("itemId") Long itemId, @RequestBody @Valid CommentDto commentDto) {
+    public R addComment(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                        @PathVariable("itemId") Long itemId, @RequestBody @Valid CommentDto commentDto) {
         return commentClient.addComment(ownerId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class Servlet extends CommentController<ResponseEntity<Object>> {
+        public Servlet(ServerTransport<ResponseEntity<Object>> transport) {
+            super(transport);
+        }
+    }
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class Reactive extends CommentController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+        public Reactive(ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> transport) {
+            super(transport);
+        }
+    }
+}
@@ -1,52 +1,37 @@
 package ru.practicum.shareit.item.client;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.Map;
 
-@Service
-@Slf4j
-public class ItemClient extends BaseClient {
+public class ItemClient<R> extends BaseClient<R> {
     private static final String ITEM_API_PREFIX = "/items";
 
-    @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ITEM_API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport<R> transport) {
+        super(transport, ITEM_API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItem(ItemDto itemDto, Long ownerId) {
+    public R addItem(ItemDto itemDto, Long ownerId) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> getAllUserItem(Long ownerId, Integer from, Integer size) {
+    public R getAllUserItem(Long ownerId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long itemId, Long ownerId) {
-        return get("/" + itemId, ownerId, null);
+    public R getById(Long itemId, Long ownerId) {
+        return getRevalidated("/" + itemId, ownerId);
     }
 
-    public ResponseEntity<Object> editItem(Long ownerId, Long itemId, ItemDto itemDto) {
+    public R editItem(Long ownerId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItems(Long ownerId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of("from", from, "size", size);
-        return get("/search?text=" + text, ownerId, parameters);
+    public R searchItems(Long ownerId, String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", ownerId, parameters);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.controller;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -12,46 +16,64 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@RestController
 @Validated
-@RequiredArgsConstructor
 @RequestMapping("/items")
 @Slf4j
-public class ItemController {
+public abstract class ItemController<R> {
 
-    private final ItemClient itemClient;
+    private final ItemClient<R> itemClient;
+
+    protected ItemController(ServerTransport<R> transport) {
+        this.itemClient = new ItemClient<>(transport);
+    }
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                          @Valid @RequestBody ItemDto itemDto) {
+    public R addItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                     @Valid @RequestBody ItemDto itemDto) {
         return itemClient.addItem(itemDto, ownerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                 @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-                                                 @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
+    public R getAllUserItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                            @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
+                            @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
         return itemClient.getAllUserItem(ownerId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                              @PathVariable Long itemId) {
+    public R getItemById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                         @PathVariable Long itemId) {
         return itemClient.getById(itemId, ownerId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> editItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                           @PathVariable Long itemId,
-                                           @RequestBody ItemDto itemDto) {
+    public R editItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                      @PathVariable Long itemId,
+                      @RequestBody ItemDto itemDto) {
         return itemClient.editItem(ownerId, itemId, itemDto);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                             @RequestParam String text,
-                                             @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-                                             @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
+    public R searchItem(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                        @RequestParam String text,
+                        @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
+                        @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
         return itemClient.searchItems(ownerId, text, from, size);
     }
-}
\ No newline at end of file
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class Servlet extends ItemController<ResponseEntity<Object>> {
+        public Servlet(ServerTransport<ResponseEntity<Object>> transport) {
+            super(transport);
+        }
+    }
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class Reactive extends ItemController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+        public Reactive(ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> transport) {
+            super(transport);
+        }
+    }
+}
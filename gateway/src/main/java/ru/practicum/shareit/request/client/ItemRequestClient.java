@@ -1,45 +1,35 @@
 package ru.practicum.shareit.request.client;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
 
-@Service
-public class ItemRequestClient extends BaseClient {
+public class ItemRequestClient<R> extends BaseClient<R> {
     private static final String ITEM_REQUEST_API_PREFIX = "/requests";
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + ITEM_REQUEST_API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransport<R> transport) {
+        super(transport, ITEM_REQUEST_API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItemRequest(ItemRequestDto itemRequestDto, Long ownerId) {
+    public R addItemRequest(ItemRequestDto itemRequestDto, Long ownerId) {
         return post("", ownerId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getUserResponse(Long ownerId) {
+    public R getUserResponse(Long ownerId) {
         return get("", ownerId, null);
     }
 
-    public ResponseEntity<Object> getAllNotOwner(Long ownerId, Integer from, Integer size) {
+    public R getAllNotOwner(Long ownerId, Integer from, Integer size, String after) {
+        if (after != null) {
+            return get("/all?after={after}&size={size}", ownerId, Map.of("after", after, "size", size));
+        }
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long ownerId, Long requestId) {
-        return get("/" + requestId, ownerId, null);
+    public R getById(Long ownerId, Long requestId) {
+        return getRevalidated("/" + requestId, ownerId);
     }
-}
\ No newline at end of file
+}
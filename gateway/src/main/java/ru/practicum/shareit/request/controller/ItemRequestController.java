@@ -1,9 +1,13 @@
 package ru.practicum.shareit.request.controller;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -11,38 +15,57 @@ import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
-@RestController
-@RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 @Validated
-public class ItemRequestController {
-    private final ItemRequestClient itemRequestClient;
+public abstract class ItemRequestController<R> {
+    private final ItemRequestClient<R> itemRequestClient;
+
+    protected ItemRequestController(ServerTransport<R> transport) {
+        this.itemRequestClient = new ItemRequestClient<>(transport);
+    }
 
     @PostMapping
     @Validated
-    public ResponseEntity<Object> addItemRequest(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                    @RequestBody @Valid ItemRequestDto itemRequestDto) {
+    public R addItemRequest(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                            @RequestBody @Valid ItemRequestDto itemRequestDto) {
         return itemRequestClient.addItemRequest(itemRequestDto, ownerId);
     }
 
     @GetMapping
     @Validated
-    public ResponseEntity<Object> getAllUserItemRequest(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
+    public R getAllUserItemRequest(@RequestHeader("X-Sharer-User-Id") Long ownerId) {
         return itemRequestClient.getUserResponse(ownerId);
     }
 
     @GetMapping("/all")
     @Validated
-    public ResponseEntity<Object> getAllNotOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                      @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
-                                                      @RequestParam(required = false, defaultValue = "10") @Positive Integer size) {
-        return itemRequestClient.getAllNotOwner(ownerId, from, size);
+    public R getAllNotOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                            @RequestParam(required = false, defaultValue = "0") @PositiveOrZero Integer from,
+                            @RequestParam(required = false, defaultValue = "10") @Positive Integer size,
+                            @RequestParam(required = false) String after) {
+        return itemRequestClient.getAllNotOwner(ownerId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
     @Validated
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                     @PathVariable Long requestId) {
+    public R getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                @PathVariable Long requestId) {
         return itemRequestClient.getById(ownerId, requestId);
     }
-}
\ No newline at end of file
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class Servlet extends ItemRequestController<ResponseEntity<Object>> {
+        public Servlet(ServerTransport<ResponseEntity<Object>> transport) {
+            super(transport);
+        }
+    }
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class Reactive extends ItemRequestController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+        public Reactive(ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> transport) {
+            super(transport);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.threads;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling on virtual threads ({@code shareit.threads.virtual=true}) in the blocking mode.
+ * Calls to the server are made from the request thread, so RestTemplate blocks a virtual thread too.
+ * The project compiles for Java 11, so the executor is looked up at runtime and requires a Java 21+ JVM.
+ * The server keeps its own copy of this class: the applications are deployed separately and share no module.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "shareit.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public VirtualThreadsCustomizer virtualThreadsProtocolHandlerCustomizer() {
+        return new VirtualThreadsCustomizer(newVirtualThreadPerTaskExecutor());
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("shareit.threads.virtual=true requires Java 21+, current runtime is "
+                    + Runtime.version(), e);
+        }
+    }
+
+    /**
+     * Hands the executor to Tomcat and shuts it down with the context: Tomcat only stops executors it created.
+     */
+    static final class VirtualThreadsCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler>,
+            DisposableBean {
+        private final ExecutorService executor;
+
+        VirtualThreadsCustomizer(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void customize(ProtocolHandler protocolHandler) {
+            protocolHandler.setExecutor(executor);
+        }
+
+        @Override
+        public void destroy() {
+            executor.shutdown();
+        }
+    }
+}
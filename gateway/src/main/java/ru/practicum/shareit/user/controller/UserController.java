@@ -1,43 +1,65 @@
 package ru.practicum.shareit.user.controller;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
 
-@RestController
 @Validated
-@RequiredArgsConstructor
 @RequestMapping(path = "/users")
-public class UserController {
-    private final UserClient userClient;
+public abstract class UserController<R> {
+    private final UserClient<R> userClient;
+
+    protected UserController(ServerTransport<R> transport) {
+        this.userClient = new UserClient<>(transport);
+    }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUser() {
+    public R getAllUser() {
         return userClient.getAllUsers();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@PathVariable Long id) {
+    public R getById(@PathVariable Long id) {
         return userClient.getById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@RequestBody @Valid UserDto userDto) {
+    public R addUser(@RequestBody @Valid UserDto userDto) {
         return userClient.addUser(userDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> editUser(@PathVariable Long id, @RequestBody UserDto userDto) {
+    public R editUser(@PathVariable Long id, @RequestBody UserDto userDto) {
         return userClient.editUser(id, userDto);
     }
 
     @DeleteMapping("/{id}")
-    public void deleteUser(@PathVariable Long id) {
-        userClient.deleteUser(id);
+    public R deleteUser(@PathVariable Long id) {
+        return userClient.deleteUser(id);
+    }
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class Servlet extends UserController<ResponseEntity<Object>> {
+        public Servlet(ServerTransport<ResponseEntity<Object>> transport) {
+            super(transport);
+        }
+    }
+
+    @RestController
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class Reactive extends UserController<Mono<ResponseEntity<Flux<DataBuffer>>>> {
+        public Reactive(ServerTransport<Mono<ResponseEntity<Flux<DataBuffer>>>> transport) {
+            super(transport);
+        }
     }
-}
\ No newline at end of file
+}
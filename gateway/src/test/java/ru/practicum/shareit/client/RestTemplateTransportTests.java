@@ -0,0 +1,8 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=servlet")
+class RestTemplateTransportTests extends ServerTransportTests {
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Gateway controllers and transport of one mode against a stub shareit-server: the server's status, headers
+ * and body reach the client unchanged.
+ */
+abstract class ServerTransportTests {
+
+    private static final Queue<String> serverRequests = new ConcurrentLinkedQueue<>();
+    private static DisposableServer server;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeAll
+    static void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/bookings", (request, response) ->
+                                json(record(request, response).header("X-Next-Cursor", "cursor-2"), "[{\"id\":1}]"))
+                        .get("/items/search", (request, response) -> json(record(request, response), "[]"))
+                        .get("/items/{itemId}", (request, response) -> json(record(request, response)
+                                .status(HttpStatus.NOT_FOUND.value()), "{\"error\":\"Item 42 not found\"}"))
+                        .delete("/users/{userId}", (request, response) -> json(record(request, response)
+                                .status(HttpStatus.NOT_FOUND.value()), "{\"error\":\"User 7 not found\"}")))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.port());
+    }
+
+    @BeforeEach
+    void setUp() {
+        serverRequests.clear();
+    }
+
+    @Test
+    void getUserBookingList_whenServerReturnsNextCursor_thenHeaderPassedThrough() {
+        webTestClient.get().uri("/bookings?state=future&after=cursor-1&size=2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "cursor-2")
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().json("[{\"id\":1}]");
+
+        assertEquals("GET /bookings?state=FUTURE&after=cursor-1&size=2 user=1", serverRequests.poll());
+    }
+
+    @Test
+    void getItemById_whenServerReturnsNotFound_thenStatusAndBodyPassedThrough() {
+        webTestClient.get().uri("/items/42")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"Item 42 not found\"}");
+    }
+
+    @Test
+    void deleteUser_whenServerReturnsNotFound_thenStatusAndBodyPassedThrough() {
+        webTestClient.delete().uri("/users/7")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"User 7 not found\"}");
+    }
+
+    @Test
+    void searchItem_whenPaged_thenTextAndPageSentToServer() {
+        webTestClient.get().uri("/items/search?text=drill&from=5&size=2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals("GET /items/search?text=drill&from=5&size=2 user=1", serverRequests.poll());
+    }
+
+    @Test
+    void getUserBookingList_whenUnknownState_thenBadRequestWithoutServerCall() {
+        webTestClient.get().uri("/bookings?state=unsupported")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"error\":\"Unknown state: unsupported\"}");
+
+        assertEquals(0, serverRequests.size());
+    }
+
+    private static HttpServerResponse record(HttpServerRequest request, HttpServerResponse response) {
+        serverRequests.add(request.method() + " " + request.uri() + " user=" + request.requestHeaders()
+                .get("X-Sharer-User-Id"));
+        return response;
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, String body) {
+        return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .sendString(Mono.just(body))
+                .then();
+    }
+}
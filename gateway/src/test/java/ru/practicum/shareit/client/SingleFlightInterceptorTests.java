@@ -0,0 +1,203 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightInterceptorTests {
+
+    private static final URI ITEM_URI = URI.create("http://localhost:9090/items/1");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private ExecutorService executor;
+    private SingleFlightInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        interceptor = new SingleFlightInterceptor(meterRegistry, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void intercept_whenIdenticalGetsInFlight_thenServerCalledOnce() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution("item");
+
+        Future<String> leader = send(request(HttpMethod.GET, "1"), execution);
+        await(() -> calls.get() == 1);
+        Future<String> follower = send(request(HttpMethod.GET, "1"), execution);
+        await(() -> count("coalesced") == 1);
+        release.countDown();
+
+        assertEquals("item", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("item", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void intercept_whenUsersDiffer_thenNotCoalesced() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution("item");
+
+        Future<String> first = send(request(HttpMethod.GET, "1"), execution);
+        Future<String> second = send(request(HttpMethod.GET, "2"), execution);
+        await(() -> calls.get() == 2);
+        release.countDown();
+
+        assertEquals("item", first.get(5, TimeUnit.SECONDS));
+        assertEquals("item", second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void intercept_whenNotGet_thenNotCoalesced() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution("created");
+
+        Future<String> first = send(request(HttpMethod.POST, "1"), execution);
+        Future<String> second = send(request(HttpMethod.POST, "1"), execution);
+        await(() -> calls.get() == 2);
+        release.countDown();
+
+        assertEquals("created", first.get(5, TimeUnit.SECONDS));
+        assertEquals("created", second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, count("leader"));
+    }
+
+    @Test
+    void intercept_whenLeaderFails_thenFollowerGetsFailure() throws Exception {
+        ClientHttpRequestExecution execution = (request, body) -> {
+            calls.incrementAndGet();
+            awaitRelease();
+            throw new IOException("Connection reset");
+        };
+
+        Future<String> leader = send(request(HttpMethod.GET, "1"), execution);
+        await(() -> calls.get() == 1);
+        Future<String> follower = send(request(HttpMethod.GET, "1"), execution);
+        await(() -> count("coalesced") == 1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, leaderFailure.getCause());
+        assertInstanceOf(IOException.class, followerFailure.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void intercept_whenCallCompleted_thenNextGetSentToServer() throws Exception {
+        release.countDown();
+        ClientHttpRequestExecution execution = blockingExecution("item");
+
+        assertEquals("item", send(request(HttpMethod.GET, "1"), execution).get(5, TimeUnit.SECONDS));
+        assertEquals("item", send(request(HttpMethod.GET, "1"), execution).get(5, TimeUnit.SECONDS));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, count("leader"));
+    }
+
+    @Test
+    void intercept_whenLeaderExceedsReadTimeout_thenFollowerCallsServerItself() throws Exception {
+        interceptor = new SingleFlightInterceptor(meterRegistry, Duration.ofMillis(100));
+        ClientHttpRequestExecution execution = (request, body) -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitRelease();
+                return response("slow");
+            }
+            return response("direct");
+        };
+
+        Future<String> leader = send(request(HttpMethod.GET, "1"), execution);
+        await(() -> calls.get() == 1);
+
+        assertEquals("direct", send(request(HttpMethod.GET, "1"), execution).get(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("gateway.single.flight.fallbacks").counter().count());
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private Future<String> send(HttpRequest request, ClientHttpRequestExecution execution) {
+        return executor.submit(() -> {
+            try (ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution)) {
+                return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+            }
+        });
+    }
+
+    private ClientHttpRequestExecution blockingExecution(String body) {
+        return (request, requestBody) -> {
+            calls.incrementAndGet();
+            awaitRelease();
+            return response(body);
+        };
+    }
+
+    private void awaitRelease() throws IOException {
+        try {
+            if (!release.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("gateway.single.flight.requests").tag("result", result).counter().count();
+    }
+
+    private static HttpRequest request(HttpMethod method, String userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, ITEM_URI);
+        request.getHeaders().set("X-Sharer-User-Id", userId);
+        return request;
+    }
+
+    private static ClientHttpResponse response(String body) {
+        return new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in 5 seconds");
+            Thread.sleep(5);
+        }
+    }
+}
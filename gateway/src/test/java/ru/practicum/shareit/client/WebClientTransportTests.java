@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "shareit-server.http.max-per-route=7"})
+class WebClientTransportTests extends ServerTransportTests {
+
+    @Autowired
+    private ReactorResourceFactory reactorResourceFactory;
+
+    @Test
+    void connectionProvider_whenMaxPerRouteSet_thenPoolBounded() {
+        assertEquals(7, reactorResourceFactory.getConnectionProvider().maxConnections());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.threads;
+
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class VirtualThreadsConfigTests {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void disabledByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    void enabled_whenReactive_thenNotApplied() {
+        new ReactiveWebApplicationContextRunner()
+                .withUserConfiguration(VirtualThreadsConfig.class)
+                .withPropertyValues("shareit.threads.virtual=true")
+                .run(context -> assertThat(context).hasNotFailed()
+                        .doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    void enabledRequiresVirtualThreads() {
+        boolean supported = Runtime.version().feature() >= 21;
+        AtomicReference<ExecutorService> executor = new AtomicReference<>();
+        contextRunner.withPropertyValues("shareit.threads.virtual=true").run(context -> {
+            if (supported) {
+                assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+                executor.set(appliedExecutor(context.getBean(VirtualThreadsConfig.VirtualThreadsCustomizer.class)));
+            } else {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure())
+                        .hasStackTraceContaining("shareit.threads.virtual=true requires Java 21+");
+            }
+        });
+        if (supported) {
+            assertThat(executor.get().isShutdown()).isTrue();
+        }
+    }
+
+    @Test
+    void customize_whenApplied_thenProtocolHandlerUsesExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        new VirtualThreadsConfig.VirtualThreadsCustomizer(executor).customize(protocolHandler);
+
+        verify(protocolHandler).setExecutor(executor);
+        executor.shutdown();
+    }
+
+    @Test
+    void destroy_whenContextClosed_thenExecutorShutDown() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        new VirtualThreadsConfig.VirtualThreadsCustomizer(executor).destroy();
+
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    private static ExecutorService appliedExecutor(VirtualThreadsConfig.VirtualThreadsCustomizer customizer) {
+        AtomicReference<ExecutorService> applied = new AtomicReference<>();
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        doAnswer(invocation -> {
+            applied.set(invocation.getArgument(0));
+            return null;
+        }).when(protocolHandler).setExecutor(any());
+        customizer.customize(protocolHandler);
+        return applied.get();
+    }
+}
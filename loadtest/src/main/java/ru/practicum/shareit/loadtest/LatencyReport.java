@@ -0,0 +1,107 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds, 3 significant digits) and status counts per endpoint.
+ */
+public class LatencyReport {
+    static final String TOTAL = "ALL";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param status HTTP status, or 0 when the request failed without a response
+     */
+    public void record(String endpoint, long latencyNanos, int status) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(micros, status);
+        endpoints.computeIfAbsent(TOTAL, key -> new EndpointStats()).record(micros, status);
+    }
+
+    Histogram histogram(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? null : stats.histogram;
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        out.printf("%-32s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "count", "req/s", "failed",
+                "4xx", "5xx", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> entry : sorted().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram histogram = stats.histogram;
+            out.printf("%-32s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    histogram.getTotalCount(), histogram.getTotalCount() / seconds, stats.failed.sum(),
+                    stats.clientErrors.sum(), stats.serverErrors.sum(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    /**
+     * Writes an .hgrm percentile distribution per endpoint, readable by HdrHistogram's plotter.
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, EndpointStats> entry : sorted().entrySet()) {
+            String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)))) {
+                // Значения хранятся в микросекундах, в файл пишутся миллисекунды
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private Map<String, EndpointStats> sorted() {
+        Map<String, EndpointStats> sorted = new LinkedHashMap<>();
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            if (!TOTAL.equals(endpoint)) {
+                sorted.put(endpoint, stats);
+            }
+        });
+        EndpointStats total = endpoints.get(TOTAL);
+        if (total != null) {
+            sorted.put(TOTAL, total);
+        }
+        return sorted;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class EndpointStats {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        void record(long micros, int status) {
+            histogram.recordValue(micros);
+            if (status == 0) {
+                failed.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests from a {@link RequestSource} and records their latency.
+ * <p>
+ * Closed loop: {@code concurrency} workers, each sends the next request as soon as the previous one answers.
+ * Open loop: requests are started at a fixed rate whatever the response times are, at most {@code concurrency}
+ * in flight. Latency is counted from the scheduled start, so a stalled system shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ */
+public class LoadRunner {
+    private final HttpClient client;
+    private final URI target;
+    private final RequestSource source;
+    private final Duration timeout;
+
+    public LoadRunner(HttpClient client, URI target, RequestSource source, Duration timeout) {
+        this.client = client;
+        this.target = target;
+        this.source = source;
+        this.timeout = timeout;
+    }
+
+    public void runClosedLoop(int concurrency, Duration duration, LatencyReport report) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    TraceRequest request = source.next();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(toHttpRequest(target, request, timeout),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        status = 0;
+                    }
+                    report.record(request.endpoint(), System.nanoTime() - start, status);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.plus(timeout).toMillis(), TimeUnit.MILLISECONDS);
+        workers.shutdownNow();
+    }
+
+    public void runOpenLoop(double ratePerSecond, int concurrency, Duration duration, LatencyReport report)
+            throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        Semaphore inFlight = new Semaphore(concurrency);
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= deadline) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            TraceRequest request = source.next();
+            client.sendAsync(toHttpRequest(target, request, timeout), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        report.record(request.endpoint(), System.nanoTime() - scheduled,
+                                error == null ? response.statusCode() : 0);
+                        inFlight.release();
+                    });
+        }
+        // Дожидаемся ответов на уже отправленные запросы
+        if (inFlight.tryAcquire(concurrency, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            inFlight.release(concurrency);
+        }
+    }
+
+    static HttpRequest toHttpRequest(URI target, TraceRequest request, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(request.getPath()))
+                .header("Accept", "application/json");
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+        if (request.getUserId() != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(request.getUserId()));
+        }
+        if (request.getBody() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.getMethod(), HttpRequest.BodyPublishers.ofString(request.getBody()));
+        } else {
+            builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+}
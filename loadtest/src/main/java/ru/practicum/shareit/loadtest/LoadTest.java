@@ -0,0 +1,69 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+
+/**
+ * Load generator for the gateway or the server: replays a JSONL trace or a synthetic traffic mix
+ * and prints latency percentiles per endpoint.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .build();
+        RequestSource source = source(options, client);
+        LoadRunner runner = new LoadRunner(client, options.getTarget(), source, options.getTimeout());
+
+        if (!options.getWarmup().isZero()) {
+            System.out.println("Warmup " + options.getWarmup());
+            run(runner, options, options.getWarmup(), new LatencyReport());
+        }
+        System.out.println((options.isOpenLoop() ? "Open loop at " + options.getRate() + " req/s" : "Closed loop")
+                + ", concurrency " + options.getConcurrency() + ", " + options.getDuration());
+        LatencyReport report = new LatencyReport();
+        long start = System.nanoTime();
+        run(runner, options, options.getDuration(), report);
+        report.print(System.out, Duration.ofNanos(System.nanoTime() - start));
+        if (options.getHistograms() != null) {
+            report.writeHistograms(options.getHistograms());
+        }
+    }
+
+    private static RequestSource source(LoadTestOptions options, HttpClient client)
+            throws IOException, InterruptedException {
+        if (options.getTrace() != null) {
+            try (Reader reader = Files.newBufferedReader(options.getTrace())) {
+                return new TraceSource(new TraceReader().read(reader));
+            }
+        }
+        SyntheticMix mix = new SyntheticMix(client, options.getTarget());
+        mix.setUp(options.getUsers(), options.getItemsPerUser());
+        System.out.println(mix.summary());
+        return mix;
+    }
+
+    private static void run(LoadRunner runner, LoadTestOptions options, Duration duration, LatencyReport report)
+            throws InterruptedException {
+        if (options.isOpenLoop()) {
+            runner.runOpenLoop(options.getRate(), options.getConcurrency(), duration, report);
+        } else {
+            runner.runClosedLoop(options.getConcurrency(), duration, report);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command line options in {@code --name=value} form.
+ */
+@Getter
+public class LoadTestOptions {
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar loadtest.jar [options]",
+            "  --target=URL          gateway or server base URL (default http://localhost:8080)",
+            "  --trace=FILE          replay a JSONL trace; without it a synthetic mix is generated",
+            "  --users=N             synthetic mix: users to create (default 20)",
+            "  --items-per-user=N    synthetic mix: items per user (default 5)",
+            "  --concurrency=N       closed loop: workers; open loop: max requests in flight (default 32)",
+            "  --rate=N              open loop arrival rate, requests per second; 0 = closed loop (default 0)",
+            "  --warmup=DURATION     ISO-8601, not reported (default PT10S)",
+            "  --duration=DURATION   ISO-8601, measured (default PT60S)",
+            "  --timeout=DURATION    per request (default PT10S)",
+            "  --histograms=DIR      also write .hgrm percentile files per endpoint");
+
+    private URI target = URI.create("http://localhost:8080");
+    private Path trace;
+    private int users = 20;
+    private int itemsPerUser = 5;
+    private int concurrency = 32;
+    private double rate;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration timeout = Duration.ofSeconds(10);
+    private Path histograms;
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (options.concurrency < 1 || options.rate < 0 || options.duration.isNegative()
+                || options.duration.isZero() || options.warmup.isNegative()) {
+            throw new IllegalArgumentException("concurrency and duration must be positive, rate and warmup not negative");
+        }
+        return options;
+    }
+
+    public boolean isOpenLoop() {
+        return rate > 0;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "target":
+                target = URI.create(value);
+                break;
+            case "trace":
+                trace = Path.of(value);
+                break;
+            case "users":
+                users = Integer.parseInt(value);
+                break;
+            case "items-per-user":
+                itemsPerUser = Integer.parseInt(value);
+                break;
+            case "concurrency":
+                concurrency = Integer.parseInt(value);
+                break;
+            case "rate":
+                rate = Double.parseDouble(value);
+                break;
+            case "warmup":
+                warmup = Duration.parse(value);
+                break;
+            case "duration":
+                duration = Duration.parse(value);
+                break;
+            case "timeout":
+                timeout = Duration.parse(value);
+                break;
+            case "histograms":
+                histograms = Path.of(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Endless supply of requests; must be safe to call from several threads.
+ */
+public interface RequestSource {
+
+    TraceRequest next();
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates users, items, bookings and item requests through the API, then produces a weighted mix
+ * of reads and writes over them. Weights are in percent.
+ */
+public class SyntheticMix implements RequestSource {
+    private static final String[] SEARCH_WORDS = {"drill", "saw", "ladder", "tent", "bike", "camera"};
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final HttpClient client;
+    private final URI target;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Long> itemOwnerIds = new ArrayList<>();
+    private final List<long[]> bookings = new ArrayList<>();
+    // Окна бронирований не пересекаются: каждое новое начинается позже предыдущего
+    private final AtomicLong bookingSlot = new AtomicLong();
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusDays(1).withNano(0);
+
+    public SyntheticMix(HttpClient client, URI target) {
+        this.client = client;
+        this.target = target;
+    }
+
+    public void setUp(int users, int itemsPerUser) throws IOException, InterruptedException {
+        if (users < 2) {
+            throw new IllegalArgumentException("Synthetic mix needs at least 2 users to book each other's items");
+        }
+        long runId = System.currentTimeMillis();
+        for (int i = 0; i < users; i++) {
+            userIds.add(create("/users", null, Map.of("name", "load-user-" + i,
+                    "email", "load-" + runId + "-" + i + "@mail.ru")));
+        }
+        for (Long ownerId : userIds) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                String word = SEARCH_WORDS[(itemIds.size()) % SEARCH_WORDS.length];
+                itemIds.add(create("/items", ownerId, Map.of("name", word + " " + i,
+                        "description", "load test " + word, "available", true)));
+                itemOwnerIds.add(ownerId);
+            }
+        }
+        for (int i = 0; i < itemIds.size(); i++) {
+            long bookerId = otherUser(itemOwnerIds.get(i));
+            TraceRequest booking = newBooking(itemIds.get(i), bookerId);
+            bookings.add(new long[]{create(booking.getPath(), bookerId, booking.getBody()), bookerId});
+        }
+        for (Long userId : userIds) {
+            create("/requests", userId, Map.of("description", "need something for load test"));
+        }
+    }
+
+    public String summary() {
+        return "Synthetic data: " + userIds.size() + " users, " + itemIds.size() + " items, "
+                + bookings.size() + " bookings";
+    }
+
+    @Override
+    public TraceRequest next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        long userId = userIds.get(random.nextInt(userIds.size()));
+        if (roll < 30) {
+            return get("/items/" + itemIds.get(random.nextInt(itemIds.size())), userId);
+        }
+        if (roll < 45) {
+            return get("/items?from=0&size=20", userId);
+        }
+        if (roll < 60) {
+            return get("/items/search?text=" + SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)] + "&from=0&size=20",
+                    userId);
+        }
+        long[] booking = bookings.get(random.nextInt(bookings.size()));
+        if (roll < 70) {
+            return get("/bookings?state=ALL&from=0&size=20", booking[1]);
+        }
+        if (roll < 80) {
+            return get("/bookings/" + booking[0], booking[1]);
+        }
+        if (roll < 90) {
+            return get("/requests/all?from=0&size=20", userId);
+        }
+        if (roll < 95) {
+            int item = random.nextInt(itemIds.size());
+            return newBooking(itemIds.get(item), otherUser(itemOwnerIds.get(item)));
+        }
+        return new TraceRequest("POST", "/requests", userId, json(Map.of("description", "need a tool")));
+    }
+
+    private TraceRequest newBooking(long itemId, long bookerId) {
+        LocalDateTime start = bookingBase.plusHours(3 * bookingSlot.getAndIncrement());
+        return new TraceRequest("POST", "/bookings", bookerId, json(Map.of("itemId", itemId,
+                "start", start.format(DATE_TIME), "end", start.plusHours(2).format(DATE_TIME))));
+    }
+
+    private long otherUser(long userId) {
+        int index = userIds.indexOf(userId);
+        return userIds.get((index + 1) % userIds.size());
+    }
+
+    private static TraceRequest get(String path, long userId) {
+        return new TraceRequest("GET", path, userId, null);
+    }
+
+    private long create(String path, Long userId, Object body) throws IOException, InterruptedException {
+        String json = body instanceof String ? (String) body : json(body);
+        HttpResponse<String> response = client.send(
+                LoadRunner.toHttpRequest(target, new TraceRequest("POST", path, userId, json), null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " failed during setup: " + response.statusCode() + " "
+                    + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
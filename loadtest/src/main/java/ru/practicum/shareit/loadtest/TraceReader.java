@@ -0,0 +1,54 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a JSONL trace, one request per line:
+ * {@code {"method": "POST", "path": "/bookings", "userId": 2, "body": {"itemId": 1, ...}}}.
+ * {@code method} defaults to GET, {@code userId} and {@code body} are optional.
+ */
+public class TraceReader {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public List<TraceRequest> read(Reader source) throws IOException {
+        List<TraceRequest> requests = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                requests.add(parse(line, lineNumber));
+            }
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Trace contains no requests");
+        }
+        return requests;
+    }
+
+    private TraceRequest parse(String line, int lineNumber) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Trace line " + lineNumber + " is not valid JSON", e);
+        }
+        if (!node.hasNonNull("path") || !node.get("path").asText().startsWith("/")) {
+            throw new IllegalArgumentException("Trace line " + lineNumber + " has no path starting with /");
+        }
+        String method = node.hasNonNull("method") ? node.get("method").asText().toUpperCase(Locale.ROOT) : "GET";
+        Long userId = node.hasNonNull("userId") ? node.get("userId").asLong() : null;
+        String body = node.hasNonNull("body") ? node.get("body").toString() : null;
+        return new TraceRequest(method, node.get("path").asText(), userId, body);
+    }
+}
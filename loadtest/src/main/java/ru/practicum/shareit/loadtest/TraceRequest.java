@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.regex.Pattern;
+
+/**
+ * One HTTP call to the gateway or the server: a trace line or a request produced by {@link SyntheticMix}.
+ */
+@Getter
+@AllArgsConstructor
+public class TraceRequest {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final String method;
+    private final String path;
+    private final Long userId;
+    private final String body;
+
+    /**
+     * Key the latency is reported under: method and path without the query, numeric ids replaced by {id}.
+     */
+    public String endpoint() {
+        int query = path.indexOf('?');
+        String pathOnly = query < 0 ? path : path.substring(0, query);
+        return method + " " + ID_SEGMENT.matcher(pathOnly).replaceAll("/{id}");
+    }
+}
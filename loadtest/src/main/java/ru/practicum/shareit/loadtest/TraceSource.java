@@ -0,0 +1,21 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays trace requests in file order, starting over after the last one.
+ */
+public class TraceSource implements RequestSource {
+    private final List<TraceRequest> requests;
+    private final AtomicLong position = new AtomicLong();
+
+    public TraceSource(List<TraceRequest> requests) {
+        this.requests = List.copyOf(requests);
+    }
+
+    @Override
+    public TraceRequest next() {
+        return requests.get((int) (position.getAndIncrement() % requests.size()));
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyReportTests {
+
+    @Test
+    void recordsPerEndpointAndTotal() {
+        LatencyReport report = new LatencyReport();
+        for (int i = 1; i <= 100; i++) {
+            report.record("GET /items/{id}", TimeUnit.MILLISECONDS.toNanos(i), 200);
+        }
+        report.record("POST /bookings", TimeUnit.MILLISECONDS.toNanos(5), 0);
+
+        Histogram items = report.histogram("GET /items/{id}");
+        assertEquals(100, items.getTotalCount());
+        assertEquals(50, items.getValueAtPercentile(50) / 1000);
+        assertEquals(99, items.getValueAtPercentile(99) / 1000);
+        assertEquals(101, report.histogram(LatencyReport.TOTAL).getTotalCount());
+    }
+
+    @Test
+    void printsTotalLastWithFailures() {
+        LatencyReport report = new LatencyReport();
+        report.record("POST /users", TimeUnit.MILLISECONDS.toNanos(3), 409);
+        report.record("GET /users/{id}", TimeUnit.MILLISECONDS.toNanos(1), 0);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        report.print(new PrintStream(output, true, StandardCharsets.UTF_8), Duration.ofSeconds(1));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("GET /users/{id}"));
+        assertTrue(lines[1].matches("GET /users/\\{id}\\s+1\\s+1\\.0\\s+1\\s+0\\s+0\\s.*"));
+        assertTrue(lines[2].matches("POST /users\\s+1\\s+1\\.0\\s+0\\s+1\\s+0\\s.*"));
+        assertTrue(lines[3].startsWith("ALL"));
+    }
+}
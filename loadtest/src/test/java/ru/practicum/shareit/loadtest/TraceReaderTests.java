@@ -0,0 +1,62 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TraceReaderTests {
+
+    private final TraceReader reader = new TraceReader();
+
+    @Test
+    void readsRequestsWithDefaults() throws Exception {
+        List<TraceRequest> requests = reader.read(new StringReader(
+                "{\"method\": \"post\", \"path\": \"/bookings\", \"userId\": 2, \"body\": {\"itemId\": 1}}\n"
+                        + "\n"
+                        + "{\"path\": \"/items/search?text=drill\"}\n"));
+
+        assertEquals(2, requests.size());
+        assertEquals("POST", requests.get(0).getMethod());
+        assertEquals(2L, requests.get(0).getUserId());
+        assertEquals("{\"itemId\":1}", requests.get(0).getBody());
+        assertEquals("GET", requests.get(1).getMethod());
+        assertNull(requests.get(1).getUserId());
+        assertNull(requests.get(1).getBody());
+    }
+
+    @Test
+    void rejectsLineWithoutPath() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reader.read(new StringReader("{\"path\": \"/users\"}\n{\"method\": \"GET\"}\n")));
+
+        assertEquals("Trace line 2 has no path starting with /", e.getMessage());
+    }
+
+    @Test
+    void rejectsEmptyTrace() {
+        assertThrows(IllegalArgumentException.class, () -> reader.read(new StringReader("\n\n")));
+    }
+
+    @Test
+    void endpointHidesIdsAndQuery() {
+        assertEquals("GET /items/{id}", new TraceRequest("GET", "/items/42", 1L, null).endpoint());
+        assertEquals("PATCH /bookings/{id}",
+                new TraceRequest("PATCH", "/bookings/7?approved=true", 1L, null).endpoint());
+        assertEquals("GET /items/search", new TraceRequest("GET", "/items/search?text=1", 1L, null).endpoint());
+    }
+
+    @Test
+    void traceSourceStartsOverAfterLastRequest() {
+        TraceSource source = new TraceSource(List.of(new TraceRequest("GET", "/users/1", 1L, null),
+                new TraceRequest("GET", "/users/2", 2L, null)));
+
+        assertEquals("/users/1", source.next().getPath());
+        assertEquals("/users/2", source.next().getPath());
+        assertEquals("/users/1", source.next().getPath());
+    }
+}
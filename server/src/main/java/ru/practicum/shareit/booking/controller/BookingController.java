@@ -2,10 +2,12 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -55,4 +57,22 @@ public class BookingController {
                                             @Positive Integer size) {
         return bookingService.getByStateOwner(ownerId, state, from, size);
     }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingDto>> getByStateAfter(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam String after,
+                                                            @RequestParam(required = false, defaultValue = "10")
+                                                            @Positive Integer size) {
+        return CursorPage.toResponse(bookingService.getByStateAfter(bookerId, state, after, size));
+    }
+
+    @GetMapping(path = "/owner", params = "after")
+    public ResponseEntity<List<BookingDto>> getByStateOwnerAfter(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                 @RequestParam(defaultValue = "ALL") String state,
+                                                                 @RequestParam String after,
+                                                                 @RequestParam(required = false, defaultValue = "10")
+                                                                 @Positive Integer size) {
+        return CursorPage.toResponse(bookingService.getByStateOwnerAfter(ownerId, state, after, size));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.exception;
+
+import ru.practicum.shareit.exception.DomainException;
+
+public class BookingOverlapException extends DomainException {
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+}
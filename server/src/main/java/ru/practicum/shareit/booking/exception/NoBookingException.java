@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class NoBookingException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class NoBookingException extends DomainException {
     public NoBookingException(String message) {
         super(message);
     }
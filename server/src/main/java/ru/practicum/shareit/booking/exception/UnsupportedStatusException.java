@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class UnsupportedStatusException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class UnsupportedStatusException extends DomainException {
     public UnsupportedStatusException(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.exception;
 
-public class WrongDateBookingException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class WrongDateBookingException extends DomainException {
     public WrongDateBookingException(String message) {
         super(message);
     }
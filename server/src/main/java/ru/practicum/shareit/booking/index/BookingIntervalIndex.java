@@ -0,0 +1,251 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingIntervalView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.exception.AbsenceException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-item index of WAITING/APPROVED booking intervals used to reject overlapping bookings
+ * without a database round trip. Items that were never loaded or were refreshed longer than
+ * {@code shareit.booking.overlap-index.max-age} ago are checked against the database under
+ * an item row lock and reloaded into the index.
+ */
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final OverlapCheckMode mode;
+    private final Duration maxAge;
+    private final ConcurrentMap<Long, ItemIntervals> intervals = new ConcurrentHashMap<>();
+    private volatile LocalDateTime warmedAt;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, ItemRepository itemRepository,
+                                @Value("${shareit.booking.overlap-check:index}") OverlapCheckMode mode,
+                                @Value("${shareit.booking.overlap-index.max-age:PT10M}") Duration maxAge) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.mode = mode;
+        this.maxAge = maxAge;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (mode != OverlapCheckMode.INDEX) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemIntervals> loaded = new HashMap<>();
+        List<BookingIntervalView> views = bookingRepository.findIntervalsByStatusInAndEndAfter(BLOCKING_STATUSES, now);
+        for (BookingIntervalView view : views) {
+            loaded.computeIfAbsent(view.getItemId(), id -> new ItemIntervals(now)).add(Interval.of(view));
+        }
+        intervals.clear();
+        intervals.putAll(loaded);
+        warmedAt = now;
+        log.info("Booking interval index warmed with {} intervals for {} items", views.size(), loaded.size());
+    }
+
+    /**
+     * Rejects the interval if it overlaps an active booking of the item, otherwise reserves it until
+     * {@link #bind} attaches the saved booking id. The reservation is dropped if the surrounding
+     * transaction rolls back.
+     */
+    public Interval reserve(Long itemId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        if (mode == OverlapCheckMode.DATABASE) {
+            lockItem(itemId);
+            if (bookingRepository.existsOverlapping(itemId, BLOCKING_STATUSES, start, end)) {
+                throw new BookingOverlapException("Item already booked for this period");
+            }
+            return null;
+        }
+        ItemIntervals itemIntervals = intervals.get(itemId);
+        boolean fresh = isFresh(itemIntervals, now);
+        if (itemIntervals == null) {
+            itemIntervals = intervals.computeIfAbsent(itemId, id -> new ItemIntervals(fresh ? warmedAt : null));
+        }
+        if (!fresh) {
+            lockItem(itemId);
+        }
+        Interval interval = new Interval(SEQUENCE.incrementAndGet(), null, start, end, true);
+        synchronized (itemIntervals) {
+            if (!fresh) {
+                // Перезагрузка на месте под монитором: резервы без строки в БД не теряются
+                itemIntervals.reload(bookingRepository.findIntervalsByItemId(itemId, BLOCKING_STATUSES, now), now);
+            }
+            itemIntervals.prune(now);
+            if (itemIntervals.overlaps(start, end)) {
+                throw new BookingOverlapException("Item already booked for this period");
+            }
+            itemIntervals.add(interval);
+        }
+        ItemIntervals reserved = itemIntervals;
+        afterRollback(() -> reserved.remove(interval));
+        return interval;
+    }
+
+    public void bind(Interval interval, Long bookingId) {
+        if (interval != null) {
+            interval.bookingId = bookingId;
+        }
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        ItemIntervals itemIntervals = intervals.get(itemId);
+        if (itemIntervals != null) {
+            afterCommit(() -> itemIntervals.removeBooking(bookingId));
+        }
+    }
+
+    private boolean isFresh(ItemIntervals itemIntervals, LocalDateTime now) {
+        LocalDateTime refreshedAt = itemIntervals != null ? itemIntervals.refreshedAt : warmedAt;
+        if (refreshedAt == null) {
+            return false;
+        }
+        return maxAge.isZero() || refreshedAt.plus(maxAge).isAfter(now);
+    }
+
+    private void lockItem(Long itemId) {
+        itemRepository.findByIdForUpdate(itemId).orElseThrow(() -> new AbsenceException("Item not exists"));
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public static final class Interval {
+        private final long sequence;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final boolean reserved;
+        private volatile Long bookingId;
+
+        private Interval(long sequence, Long bookingId, LocalDateTime start, LocalDateTime end, boolean reserved) {
+            this.sequence = sequence;
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.reserved = reserved;
+        }
+
+        private static Interval of(BookingIntervalView view) {
+            return new Interval(SEQUENCE.incrementAndGet(), view.getId(), view.getStart(), view.getEnd(), false);
+        }
+    }
+
+    private static final class ItemIntervals {
+        private static final Comparator<Interval> BY_START = Comparator
+                .comparing((Interval interval) -> interval.start)
+                .thenComparingLong(interval -> interval.sequence);
+
+        private final NavigableSet<Interval> byStart = new TreeSet<>(BY_START);
+        private volatile LocalDateTime refreshedAt;
+        private Duration longest = Duration.ZERO;
+
+        private ItemIntervals(LocalDateTime refreshedAt) {
+            this.refreshedAt = refreshedAt;
+        }
+
+        private void add(Interval interval) {
+            byStart.add(interval);
+            Duration duration = Duration.between(interval.start, interval.end);
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        }
+
+        /**
+         * Replaces the intervals read from the database with {@code views}, keeping reservations made here that
+         * the database does not show yet: not bound to a booking or bound to one that is not committed.
+         */
+        private void reload(List<BookingIntervalView> views, LocalDateTime now) {
+            Set<Long> stored = new HashSet<>();
+            views.forEach(view -> stored.add(view.getId()));
+            List<Interval> pending = new ArrayList<>();
+            for (Interval interval : byStart) {
+                Long bookingId = interval.bookingId;
+                if (interval.reserved && (bookingId == null || !stored.contains(bookingId))) {
+                    pending.add(interval);
+                }
+            }
+            byStart.clear();
+            longest = Duration.ZERO;
+            views.forEach(view -> add(Interval.of(view)));
+            pending.forEach(this::add);
+            refreshedAt = now;
+        }
+
+        // Интервалы, начавшиеся раньше (start - longest), гарантированно закончились до start
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Interval probe = new Interval(Long.MIN_VALUE, null, end, end, false);
+            for (Interval interval : byStart.headSet(probe, false).descendingSet()) {
+                if (interval.end.isAfter(start)) {
+                    return true;
+                }
+                if (!interval.start.plus(longest).isAfter(start)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private void prune(LocalDateTime now) {
+            while (!byStart.isEmpty() && !byStart.first().start.plus(longest).isAfter(now)) {
+                byStart.pollFirst();
+            }
+        }
+
+        private synchronized void remove(Interval interval) {
+            byStart.remove(interval);
+        }
+
+        private synchronized void removeBooking(Long bookingId) {
+            byStart.removeIf(interval -> bookingId.equals(interval.bookingId));
+        }
+    }
+}
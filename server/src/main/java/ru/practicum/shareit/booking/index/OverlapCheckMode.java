@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.index;
+
+public enum OverlapCheckMode {
+    // Проверка по индексу в памяти, с откатом к БД для холодных и устаревших вещей
+    INDEX,
+    // Всегда проверять по БД под блокировкой вещи
+    DATABASE
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,48 +11,131 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.start < CURRENT_TIMESTAMP AND b.status = 'APPROVED' " +
-            "ORDER BY b.end DESC")
-    List<Booking> findLastOrderedBookingsByItemId(Long itemId);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id = ?1 AND b.start > CURRENT_TIMESTAMP AND b.status = 'APPROVED'" +
-            " ORDER BY b.end ASC")
-    List<Booking> findNextOrderedBookingsByItemId(Long itemId);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN (:itemIds) AND b.start < CURRENT_TIMESTAMP " +
-            "AND b.status = 'APPROVED' " + "ORDER BY b.end DESC")
-    List<Booking> findLastOrderedBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN (:itemIds) AND b.start > CURRENT_TIMESTAMP " +
-            "AND b.status = 'APPROVED' " + "ORDER BY b.end ASC")
-    List<Booking> findNextOrderedBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
-
+    String BOOKER_KEYSET = "SELECT b FROM Booking b WHERE b.booker.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ";
+
+    String OWNER_KEYSET = "SELECT b FROM Booking b WHERE b.item.owner.id = :userId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ";
+
+    String KEYSET_ORDER = "ORDER BY b.start DESC, b.id DESC";
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_KEYSET + "AND b.status IN :statuses " + KEYSET_ORDER)
+    Slice<Booking> findBookerSliceByStatus(@Param("userId") Long bookerId,
+                                           @Param("statuses") Collection<BookingStatus> statuses,
+                                           @Param("start") LocalDateTime start, @Param("id") Long id,
+                                           Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_KEYSET + "AND b.end < :now " + KEYSET_ORDER)
+    Slice<Booking> findBookerSlicePast(@Param("userId") Long bookerId, @Param("now") LocalDateTime now,
+                                       @Param("start") LocalDateTime start, @Param("id") Long id,
+                                       Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_KEYSET + "AND b.end > :now AND b.start < :now " + KEYSET_ORDER)
+    Slice<Booking> findBookerSliceCurrent(@Param("userId") Long bookerId, @Param("now") LocalDateTime now,
+                                          @Param("start") LocalDateTime start, @Param("id") Long id,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BOOKER_KEYSET + "AND b.start > :now " + KEYSET_ORDER)
+    Slice<Booking> findBookerSliceFuture(@Param("userId") Long bookerId, @Param("now") LocalDateTime now,
+                                         @Param("start") LocalDateTime start, @Param("id") Long id,
+                                         Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(OWNER_KEYSET + "AND b.status IN :statuses " + KEYSET_ORDER)
+    Slice<Booking> findOwnerSliceByStatus(@Param("userId") Long ownerId,
+                                          @Param("statuses") Collection<BookingStatus> statuses,
+                                          @Param("start") LocalDateTime start, @Param("id") Long id,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(OWNER_KEYSET + "AND b.end < :now " + KEYSET_ORDER)
+    Slice<Booking> findOwnerSlicePast(@Param("userId") Long ownerId, @Param("now") LocalDateTime now,
+                                      @Param("start") LocalDateTime start, @Param("id") Long id,
+                                      Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(OWNER_KEYSET + "AND b.end > :now AND b.start < :now " + KEYSET_ORDER)
+    Slice<Booking> findOwnerSliceCurrent(@Param("userId") Long ownerId, @Param("now") LocalDateTime now,
+                                         @Param("start") LocalDateTime start, @Param("id") Long id,
+                                         Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(OWNER_KEYSET + "AND b.start > :now " + KEYSET_ORDER)
+    Slice<Booking> findOwnerSliceFuture(@Param("userId") Long ownerId, @Param("now") LocalDateTime now,
+                                        @Param("start") LocalDateTime start, @Param("id") Long id,
+                                        Pageable pageable);
+
+    // Последнее (по убыванию конца) и следующее (по возрастанию конца) подтверждённое бронирование
+    // каждой вещи за один запрос; ROW_NUMBER поддерживается и PostgreSQL, и H2
+    @Query(value = "SELECT r.id, r.start_date, r.end_date, r.item_id, r.booker_id, r.status FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC, b.id DESC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date < :now " +
+            "UNION ALL " +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date ASC, b.id ASC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date > :now" +
+            ") r WHERE r.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                           @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(b.start) FROM Booking b WHERE b.item.id = ?1 AND b.status = ?2 AND b.start > ?3")
+    LocalDateTime findFirstStartAfter(Long itemId, BookingStatus status, LocalDateTime date);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime date, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime date, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerIdAndEndIsAfterAndStartIsBefore(Long ownerId, LocalDateTime end,
                                                                  LocalDateTime start, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime date, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime date, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerIdAndEndIsAfterAndStartIsBefore(Long bookerId, LocalDateTime end,
                                                               LocalDateTime start, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     Page<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus state, Pageable pageable);
 
     List<Booking> findByStatusAndBookerIdAndItemIdAndEndIsBefore(BookingStatus bookingStatus, Long ownerId,
                                                                  Long itemId, LocalDateTime now);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.status IN ?1 AND b.end > ?2")
+    List<BookingIntervalView> findIntervalsByStatusInAndEndAfter(Collection<BookingStatus> statuses,
+                                                                 LocalDateTime date);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status IN ?2 AND b.end > ?3")
+    List<BookingIntervalView> findIntervalsByItemId(Long itemId, Collection<BookingStatus> statuses,
+                                                    LocalDateTime date);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = ?1 AND b.status IN ?2 " +
+            "AND b.start < ?4 AND b.end > ?3")
+    boolean existsOverlapping(Long itemId, Collection<BookingStatus> statuses, LocalDateTime start,
+                              LocalDateTime end);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -14,4 +15,8 @@ public interface BookingService {
     List<BookingDto> getByState(Long bookerId, String state, Integer from, Integer size);
 
     List<BookingDto> getByStateOwner(Long ownerId, String state, Integer from, Integer size);
+
+    CursorPage<BookingDto> getByStateAfter(Long bookerId, String state, String after, Integer size);
+
+    CursorPage<BookingDto> getByStateOwnerAfter(Long ownerId, String state, String after, Integer size);
 }
\ No newline at end of file
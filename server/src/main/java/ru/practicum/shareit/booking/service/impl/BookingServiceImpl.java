@@ -1,20 +1,24 @@
 package ru.practicum.shareit.booking.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
 import ru.practicum.shareit.booking.exception.WrongDateBookingException;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.exception.AbsenceException;
 import ru.practicum.shareit.item.exception.AccessDeniedException;
@@ -22,14 +26,20 @@ import ru.practicum.shareit.item.exception.ItemUnavailableException;
 import ru.practicum.shareit.item.exception.OwnerBookingException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetricsConfig;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ServiceMetricsConfig.SERVICE_TIMER)
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
@@ -38,6 +48,9 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final UserExistenceChecker userExistenceChecker;
+    private final ItemBookingSummaryService itemBookingSummaryService;
     private final Sort sortByStartDesc = Sort.by(Sort.Direction.DESC, "start");
 
     @Override
@@ -55,8 +68,11 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getAvailable()) {
             throw new ItemUnavailableException("Item unavailable");
         }
+        BookingIntervalIndex.Interval interval = bookingIntervalIndex.reserve(item.getId(), bookingDto.getStart(),
+                bookingDto.getEnd());
         bookingDto.setStatus(BookingStatus.WAITING);
         Booking booking = bookingRepository.save(bookingMapper.toBooking(bookingDto, item, user));
+        bookingIntervalIndex.bind(interval, booking.getId());
         return bookingMapper.toBookingDto(booking);
     }
 
@@ -75,8 +91,13 @@ public class BookingServiceImpl implements BookingService {
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
+            bookingIntervalIndex.release(booking.getItem().getId(), booking.getId());
         }
-        return bookingMapper.toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        if (approved) {
+            itemBookingSummaryService.refresh(booking.getItem().getId());
+        }
+        return bookingMapper.toBookingDto(saved);
     }
 
     @Override
@@ -84,7 +105,7 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto getById(Long ownerId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
                 new AbsenceException("Booking not exists"));
-        userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(ownerId);
         if (!booking.getItem().getOwner().getId().equals(ownerId) && !booking.getBooker().getId().equals(ownerId)) {
             throw new AccessDeniedException("Access denied");
         }
@@ -95,7 +116,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public List<BookingDto> getByState(Long bookerId, String state, Integer from, Integer size) {
         PageRequest pageable = PageRequest.of(from > 0 ? from / size : 0, size, sortByStartDesc);
-        userRepository.findById(bookerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(bookerId);
         BookingState bookingState = getBookingState(state);
         Page<Booking> bookingList;
         switch (bookingState) {
@@ -128,7 +149,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public List<BookingDto> getByStateOwner(Long ownerId, String state, Integer from, Integer size) {
         PageRequest pageable = PageRequest.of(from > 0 ? from / size : 0, size, sortByStartDesc);
-        userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(ownerId);
         BookingState bookingState = getBookingState(state);
         if (itemRepository.findByOwnerId(ownerId).isEmpty()) {
             throw new ItemUnavailableException("No items found");
@@ -161,6 +182,100 @@ public class BookingServiceImpl implements BookingService {
         return bookingList.stream().map(bookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional
+    public CursorPage<BookingDto> getByStateAfter(Long bookerId, String state, String after, Integer size) {
+        userExistenceChecker.requireExists(bookerId);
+        BookingState bookingState = getBookingState(state);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        PageRequest pageable = PageRequest.of(0, size);
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> bookingSlice;
+        switch (bookingState) {
+            case PAST:
+                bookingSlice = bookingRepository.findBookerSlicePast(bookerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case CURRENT:
+                bookingSlice = bookingRepository.findBookerSliceCurrent(bookerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookingSlice = bookingRepository.findBookerSliceFuture(bookerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookingSlice = bookingRepository.findBookerSliceByStatus(bookerId, List.of(BookingStatus.WAITING),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookingSlice = bookingRepository.findBookerSliceByStatus(bookerId, List.of(BookingStatus.REJECTED),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            case ALL:
+                bookingSlice = bookingRepository.findBookerSliceByStatus(bookerId, EnumSet.allOf(BookingStatus.class),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        return toCursorPage(bookingSlice);
+    }
+
+    @Override
+    @Transactional
+    public CursorPage<BookingDto> getByStateOwnerAfter(Long ownerId, String state, String after, Integer size) {
+        userExistenceChecker.requireExists(ownerId);
+        BookingState bookingState = getBookingState(state);
+        if (itemRepository.findByOwnerId(ownerId).isEmpty()) {
+            throw new ItemUnavailableException("No items found");
+        }
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        PageRequest pageable = PageRequest.of(0, size);
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> bookingSlice;
+        switch (bookingState) {
+            case PAST:
+                bookingSlice = bookingRepository.findOwnerSlicePast(ownerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case CURRENT:
+                bookingSlice = bookingRepository.findOwnerSliceCurrent(ownerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                bookingSlice = bookingRepository.findOwnerSliceFuture(ownerId, now, cursor.getTimestamp(),
+                        cursor.getId(), pageable);
+                break;
+            case WAITING:
+                bookingSlice = bookingRepository.findOwnerSliceByStatus(ownerId, List.of(BookingStatus.WAITING),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                bookingSlice = bookingRepository.findOwnerSliceByStatus(ownerId, List.of(BookingStatus.REJECTED),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            case ALL:
+                bookingSlice = bookingRepository.findOwnerSliceByStatus(ownerId, EnumSet.allOf(BookingStatus.class),
+                        cursor.getTimestamp(), cursor.getId(), pageable);
+                break;
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        return toCursorPage(bookingSlice);
+    }
+
+    private CursorPage<BookingDto> toCursorPage(Slice<Booking> bookingSlice) {
+        List<BookingDto> bookings = bookingSlice.stream().map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (bookingSlice.hasNext() && !bookings.isEmpty()) {
+            BookingDto last = bookings.get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+        }
+        return new CursorPage<>(bookings, nextCursor);
+    }
+
     private BookingState getBookingState(String state) {
         try {
             return BookingState.valueOf(state.toUpperCase());
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary s WHERE s.itemId = :itemId")
+    Optional<ItemBookingSummary> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    @Query("SELECT s FROM ItemBookingSummary s " +
+            "LEFT JOIN FETCH s.lastBooking lb LEFT JOIN FETCH lb.item LEFT JOIN FETCH lb.booker " +
+            "LEFT JOIN FETCH s.nextBooking nb LEFT JOIN FETCH nb.item LEFT JOIN FETCH nb.booker " +
+            "WHERE s.itemId IN :itemIds")
+    List<ItemBookingSummary> findWithBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId FROM ItemBookingSummary s WHERE s.expiresAt <= :now ORDER BY s.expiresAt")
+    List<Long> findExpiredItemIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recomputes summaries whose next booking has started, turning it into the last one.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.summary.roller.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingSummaryRoller {
+
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.roller.interval:PT1M}")
+    public void roll() {
+        int rolled = summaryService.rollExpired(LocalDateTime.now());
+        if (rolled > 0) {
+            log.debug("Rolled {} item booking summaries", rolled);
+        }
+    }
+}
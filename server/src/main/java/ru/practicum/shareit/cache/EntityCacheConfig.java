@@ -0,0 +1,83 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Second-level cache for entities that are read far more often than written. Regions live in an
+ * embedded Caffeine JCache manager that is handed to Hibernate, so sizes and TTLs come from the
+ * Spring properties rather than a provider config file.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.entity-cache.enabled", havingValue = "true")
+public class EntityCacheConfig {
+
+    // Должны совпадать с region в @Cache на сущностях
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    private static final AtomicLong CACHE_MANAGERS = new AtomicLong();
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${shareit.entity-cache.users.max-size:10000}") long usersMaxSize,
+            @Value("${shareit.entity-cache.users.time-to-live:PT10M}") Duration usersTimeToLive,
+            @Value("${shareit.entity-cache.items.max-size:50000}") long itemsMaxSize,
+            @Value("${shareit.entity-cache.items.time-to-live:PT10M}") Duration itemsTimeToLive) {
+        // Провайдер JCache хранит менеджеры на всю JVM: свой URI у каждого контекста, иначе второй контекст
+        // получит чужой менеджер с уже созданными регионами
+        URI uri = URI.create("shareit-entity-cache-" + CACHE_MANAGERS.incrementAndGet());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+        createRegion(cacheManager, USERS, usersMaxSize, usersTimeToLive);
+        createRegion(cacheManager, ITEMS, itemsMaxSize, itemsTimeToLive);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> List.of(USERS, ITEMS).forEach(region -> CaffeineCacheMetrics.monitor(registry,
+                nativeCache(entityCacheManager, region), region));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String region) {
+        return cacheManager.getCache(region).unwrap(Cache.class);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        configuration.setNativeStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
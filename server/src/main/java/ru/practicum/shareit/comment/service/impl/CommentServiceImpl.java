@@ -1,5 +1,6 @@
 package ru.practicum.shareit.comment.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.exception.NoBookingException;
@@ -14,6 +15,7 @@ import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.exception.AbsenceException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetricsConfig;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -21,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed(ServiceMetricsConfig.SERVICE_TIMER)
 @AllArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+/**
+ * Strong ETag and {@code If-None-Match} handling for single-resource reads, which the gateway caches and revalidates.
+ * Lists are left alone: hashing a whole page would cost more than it saves.
+ */
+@Component
+public class ResourceEtagFilter extends ShallowEtagHeaderFilter {
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("^/(items|users|requests)/\\d+$");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SINGLE_RESOURCE.matcher(request.getRequestURI()).matches();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * Base for exceptions that end in an ordinary 4xx response. ExceptionsHandler only uses their message,
+ * so the stack trace is not captured unless {@code shareit.exceptions.stack-traces=true}.
+ * The flag is process-wide and read when an exception is created, see {@link DomainExceptionConfig}.
+ */
+public abstract class DomainException extends RuntimeException {
+    private static volatile boolean stackTraces;
+
+    protected DomainException(String message) {
+        super(message, null, false, stackTraces);
+    }
+
+    public static boolean isStackTraces() {
+        return stackTraces;
+    }
+
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+}
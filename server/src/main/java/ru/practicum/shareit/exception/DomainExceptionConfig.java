@@ -0,0 +1,25 @@
+package ru.practicum.shareit.exception;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code shareit.exceptions.stack-traces} to {@link DomainException}. The flag is global to the JVM:
+ * it is set when this context starts and restored to its previous value when the context closes.
+ * Exceptions created before the context starts use the previous value.
+ */
+@Configuration
+public class DomainExceptionConfig implements DisposableBean {
+    private final boolean previous;
+
+    public DomainExceptionConfig(@Value("${shareit.exceptions.stack-traces:false}") boolean stackTraces) {
+        previous = DomainException.isStackTraces();
+        DomainException.setStackTraces(stackTraces);
+    }
+
+    @Override
+    public void destroy() {
+        DomainException.setStackTraces(previous);
+    }
+}
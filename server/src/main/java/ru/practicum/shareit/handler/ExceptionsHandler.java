@@ -5,9 +5,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.NoBookingException;
 import ru.practicum.shareit.booking.exception.WrongDateBookingException;
 import ru.practicum.shareit.item.exception.*;
+import ru.practicum.shareit.pagination.exception.InvalidCursorException;
 import ru.practicum.shareit.user.exception.EmailDuplicateException;
 
 import java.util.Map;
@@ -60,4 +62,16 @@ public class ExceptionsHandler {
     public Map<String, String> handleNoBookingException(NoBookingException e) {
         return Map.of("NoBookingException", e.getMessage());
     }
+
+    @ExceptionHandler(BookingOverlapException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleBookingOverlapException(BookingOverlapException e) {
+        return Map.of("BookingOverlapException", e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursorException(InvalidCursorException e) {
+        return Map.of("InvalidCursorException", e.getMessage());
+    }
 }
\ No newline at end of file
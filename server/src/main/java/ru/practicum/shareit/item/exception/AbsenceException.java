@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class AbsenceException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class AbsenceException extends DomainException {
     public AbsenceException(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class AccessDeniedException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class AccessDeniedException extends DomainException {
     public AccessDeniedException(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class ItemUnavailableException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class ItemUnavailableException extends DomainException {
     public ItemUnavailableException(String message) {
         super(message);
     }
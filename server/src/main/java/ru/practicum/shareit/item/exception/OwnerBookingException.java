@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.exception;
 
-public class OwnerBookingException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class OwnerBookingException extends DomainException {
     public OwnerBookingException(String message) {
         super(message);
     }
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(Long ownerId);
@@ -18,6 +21,17 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "OR lower(it.description) LIKE lower(concat('%', ?1,'%')))")
     List<Item> searchByText(String text, Pageable pageable);
 
+    @Query(value = "SELECT * FROM items WHERE is_available = TRUE AND search_vector @@ to_tsquery('simple', ?1) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', ?1)) DESC, id ASC", nativeQuery = true)
+    List<Item> searchByTsQuery(String tsQuery, Pageable pageable);
+
+    @Query("SELECT it FROM Item AS it WHERE it.available = TRUE AND it.id > ?1 ORDER BY it.id")
+    List<Item> findAvailableAfter(Long id, Pageable pageable);
+
     @Query(value = "SELECT * FROM items WHERE request_id IN ?1 ORDER BY id ASC", nativeQuery = true)
     List<Item> findAllByRequestIn(List<Long> requestIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT it FROM Item AS it WHERE it.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL full-text search over the generated {@code items.search_vector} column. Every word of
+ * the text is matched as a prefix, results are ordered by {@code ts_rank}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "fulltext")
+@AllArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.searchByTsQuery(query, pageable);
+    }
+
+    // Оставляем только буквы и цифры, чтобы пользовательский ввод не ломал синтаксис tsquery
+    static String toPrefixQuery(String text) {
+        return ItemTokenizer.tokenize(text).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Base of the in-process search engines: keeps detached copies of available items and posting
+ * lists of the terms extracted from them. The index is built at application start and updated
+ * after the transaction that saved an item commits.
+ */
+@Slf4j
+public abstract class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+    private volatile Index index = new Index();
+
+    protected InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    protected abstract Set<String> terms(Item document);
+
+    // Поиск берёт индекс один раз: перестроение подменяет его целиком
+    protected Index index() {
+        return index;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, LongBuffer> loaded = new HashMap<>();
+        Index rebuilt = new Index();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAvailableAfter(lastId, PageRequest.of(0, LOAD_BATCH));
+            for (Item item : batch) {
+                Item document = toDocument(item);
+                rebuilt.documents.put(document.getId(), document);
+                // Вещи приходят по возрастанию id, поэтому списки растут уже упорядоченными
+                terms(document).forEach(term -> loaded.computeIfAbsent(term, t -> new LongBuffer()).add(item.getId()));
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH);
+        loaded.forEach((term, buffer) -> rebuilt.postings.put(term, buffer.toArray()));
+        index = rebuilt;
+        log.info("{} built with {} items and {} terms", getClass().getSimpleName(), rebuilt.documents.size(),
+                rebuilt.postings.size());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Item document = toDocument(item);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(document);
+                }
+            });
+        } else {
+            update(document);
+        }
+    }
+
+    protected static List<Item> page(Index index, long[] ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+        List<Item> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Item document = index.documents.get(ids[i]);
+            if (document != null) {
+                result.add(document);
+            }
+        }
+        return result;
+    }
+
+    private synchronized void update(Item document) {
+        ConcurrentNavigableMap<String, long[]> postings = index.postings;
+        ConcurrentNavigableMap<Long, Item> documents = index.documents;
+        Long id = document.getId();
+        boolean available = Boolean.TRUE.equals(document.getAvailable());
+        Item previous = available ? documents.put(id, document) : documents.remove(id);
+        Set<String> oldTerms = previous != null ? terms(previous) : Set.of();
+        Set<String> newTerms = available ? terms(document) : Set.of();
+        for (String term : oldTerms) {
+            if (!newTerms.contains(term)) {
+                postings.computeIfPresent(term, (t, list) -> {
+                    long[] rest = Postings.remove(list, id);
+                    return rest.length == 0 ? null : rest;
+                });
+            }
+        }
+        for (String term : newTerms) {
+            if (!oldTerms.contains(term)) {
+                postings.merge(term, new long[]{id}, (list, single) -> Postings.insert(list, id));
+            }
+        }
+    }
+
+    // Копия без ленивых связей: индекс живёт дольше сессии, в которой вещь была загружена
+    private static Item toDocument(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(item.getOwner() != null ? User.builder().id(item.getOwner().getId()).build() : null)
+                .request(item.getRequest())
+                .build();
+    }
+
+    protected static final class Index {
+        protected final ConcurrentNavigableMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+        protected final ConcurrentNavigableMap<Long, Item> documents = new ConcurrentSkipListMap<>();
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
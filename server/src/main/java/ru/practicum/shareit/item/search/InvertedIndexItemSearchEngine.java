@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index over the lower-cased words of available items' names and descriptions.
+ * Every word of the search text matches indexed words starting with it, all words must match.
+ * Results are ordered by item id and served without a database round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "inverted")
+public class InvertedIndexItemSearchEngine extends InMemoryItemSearchEngine {
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<String> words = ItemTokenizer.tokenize(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Index index = index();
+        List<Postings.Union> unions = new ArrayList<>();
+        for (String word : new TreeSet<>(words)) {
+            unions.add(new Postings.Union(index.postings.subMap(word, true, word + Character.MAX_VALUE, false)
+                    .values()));
+        }
+        // Списки читаются только до последнего id нужной страницы
+        long[] ids = Postings.matchAll(unions, (int) Math.min(pageable.getOffset() + pageable.getPageSize(),
+                Integer.MAX_VALUE));
+        return page(index, ids, pageable);
+    }
+
+    @Override
+    protected Set<String> terms(Item document) {
+        Set<String> terms = new HashSet<>(ItemTokenizer.tokenize(document.getName()));
+        terms.addAll(ItemTokenizer.tokenize(document.getDescription()));
+        return terms;
+    }
+}
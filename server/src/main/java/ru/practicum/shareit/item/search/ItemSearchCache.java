@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches search results by (lower-cased text, from, size). Weight of an entry is the number of items
+ * in it, eviction is W-TinyLFU. When an item's name, description or availability changes, only the
+ * entries whose text could match the item before or after the change are dropped.
+ */
+@Component
+public class ItemSearchCache {
+
+    private final Cache<Key, List<ItemDto>> cache;
+    // Меняется при каждой инвалидации: результат, загруженный до неё, не должен попасть в кэш
+    private final AtomicLong version = new AtomicLong();
+
+    public ItemSearchCache(@Value("${shareit.item.search.cache.max-weight:100000}") long maxWeight,
+                           @Value("${shareit.item.search.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, List<ItemDto> items) -> items.size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemSearch");
+    }
+
+    public List<ItemDto> get(String text, Integer from, Integer size, Supplier<List<ItemDto>> loader) {
+        Key key = new Key(text.toLowerCase(Locale.ROOT), from, size);
+        List<ItemDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = version.get();
+        List<ItemDto> loaded = List.copyOf(loader.get());
+        cache.put(key, loaded);
+        if (version.get() != observed) {
+            cache.invalidate(key);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the entries affected by saving an item; {@code before} is null for a new item.
+     * Eviction is repeated after commit so that a search running concurrently with the
+     * transaction cannot keep the old result.
+     */
+    public void invalidate(Item before, Item after) {
+        if (before != null && Objects.equals(before.getName(), after.getName())
+                && Objects.equals(before.getDescription(), after.getDescription())
+                && Objects.equals(before.getAvailable(), after.getAvailable())) {
+            return;
+        }
+        String beforeText = searchableText(before);
+        String afterText = searchableText(after);
+        Predicate<Key> affected = key -> matches(beforeText, key) || matches(afterText, key);
+        evict(affected);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(affected);
+                }
+            });
+        }
+    }
+
+    private void evict(Predicate<Key> affected) {
+        version.incrementAndGet();
+        cache.asMap().keySet().removeIf(affected);
+    }
+
+    private static String searchableText(Item item) {
+        if (item == null || !Boolean.TRUE.equals(item.getAvailable())) {
+            return null;
+        }
+        return (item.getName() + "\n" + item.getDescription()).toLowerCase(Locale.ROOT);
+    }
+
+    // Каждое слово запроса должно входить в текст вещи: это верно для всех движков поиска
+    private static boolean matches(String searchableText, Key key) {
+        if (searchableText == null) {
+            return false;
+        }
+        return ItemTokenizer.tokenize(key.text).stream().allMatch(searchableText::contains);
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class Key {
+        private final String text;
+        private final Integer from;
+        private final Integer size;
+    }
+}
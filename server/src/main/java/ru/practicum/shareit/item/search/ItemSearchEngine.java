@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Backend of {@code GET /items/search}, selected by {@code shareit.item.search.engine}.
+ */
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Called after an item was added or edited; engines keeping their own index refresh it once
+     * the surrounding transaction commits.
+     */
+    default void onItemSaved(Item item) {
+    }
+}
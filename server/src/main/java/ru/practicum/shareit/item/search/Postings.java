@@ -0,0 +1,183 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operations on posting lists: ascending arrays of item ids without duplicates. Lists are never
+ * modified in place, so readers may use them without locking.
+ */
+final class Postings {
+
+    static final long[] EMPTY = new long[0];
+
+    private Postings() {
+    }
+
+    static long[] insert(long[] postings, long id) {
+        int position = Arrays.binarySearch(postings, id);
+        if (position >= 0) {
+            return postings;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[postings.length + 1];
+        System.arraycopy(postings, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(postings, insertAt, result, insertAt + 1, postings.length - insertAt);
+        return result;
+    }
+
+    static long[] remove(long[] postings, long id) {
+        int position = Arrays.binarySearch(postings, id);
+        if (position < 0) {
+            return postings;
+        }
+        long[] result = new long[postings.length - 1];
+        System.arraycopy(postings, 0, result, 0, position);
+        System.arraycopy(postings, position + 1, result, position, postings.length - position - 1);
+        return result;
+    }
+
+    /**
+     * Ascending ids present in every union, at most {@code limit} of them. The unions are advanced in turns to
+     * the largest id seen so far, so only the posting ranges up to the last returned id are read.
+     */
+    static long[] matchAll(List<Union> unions, int limit) {
+        long[] result = new long[Math.min(limit, 64)];
+        int size = 0;
+        long candidate = Long.MIN_VALUE;
+        int agreed = 0;
+        for (int i = 0; size < limit; i = (i + 1) % unions.size()) {
+            long id = unions.get(i).advanceTo(candidate);
+            if (id == Union.NONE) {
+                break;
+            }
+            if (id == candidate) {
+                agreed++;
+            } else {
+                candidate = id;
+                agreed = 1;
+            }
+            if (agreed == unions.size()) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, (int) Math.min((long) size * 2, limit));
+                }
+                result[size++] = candidate;
+                candidate++;
+                agreed = 0;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    // Для сильно различающихся по длине списков ищем элементы короткого в длинном бинарным поиском
+    static long[] intersect(long[] left, long[] right) {
+        long[] small = left.length <= right.length ? left : right;
+        long[] large = small == left ? right : left;
+        long[] result = new long[small.length];
+        int size = 0;
+        if (small.length * 16L < large.length) {
+            int from = 0;
+            for (long id : small) {
+                int position = Arrays.binarySearch(large, from, large.length, id);
+                if (position >= 0) {
+                    result[size++] = id;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    result[size++] = small[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Lazy union of several posting lists: a heap of list heads ordered by their current id.
+     */
+    static final class Union {
+        static final long NONE = -1;
+
+        private final long[][] lists;
+        private final int[] positions;
+        private final int[] heap;
+        private int size;
+
+        Union(Collection<long[]> postings) {
+            lists = new long[postings.size()][];
+            for (long[] list : postings) {
+                if (list.length > 0) {
+                    lists[size++] = list;
+                }
+            }
+            positions = new int[size];
+            heap = new int[size];
+            for (int i = 0; i < size; i++) {
+                heap[i] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        // Наименьший id не меньше target или NONE, если списки кончились
+        long advanceTo(long target) {
+            while (size > 0) {
+                int top = heap[0];
+                long[] list = lists[top];
+                if (list[positions[top]] >= target) {
+                    return list[positions[top]];
+                }
+                int found = Arrays.binarySearch(list, positions[top], list.length, target);
+                int position = found >= 0 ? found : -found - 1;
+                if (position == list.length) {
+                    heap[0] = heap[--size];
+                } else {
+                    positions[top] = position;
+                }
+                if (size > 0) {
+                    siftDown(0);
+                }
+            }
+            return NONE;
+        }
+
+        private long head(int list) {
+            return lists[list][positions[list]];
+        }
+
+        private void siftDown(int index) {
+            int list = heap[index];
+            long value = head(list);
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && head(heap[child + 1]) < head(heap[child])) {
+                    child++;
+                }
+                if (value <= head(heap[child])) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = list;
+        }
+    }
+}
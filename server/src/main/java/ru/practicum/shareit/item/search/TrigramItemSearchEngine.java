@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+
+/**
+ * Trigram index over the lower-cased names and descriptions of available items. Keeps the
+ * semantics of the LIKE search: an item matches when its name or description contains the text.
+ * Candidates are the intersection of the posting lists of the text's trigrams and are verified
+ * against the stored fields, texts shorter than a trigram are matched by a scan.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine extends InMemoryItemSearchEngine {
+
+    private static final int GRAM = 3;
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String needle = text.toLowerCase(Locale.ROOT);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        Index index = index();
+        Iterable<Item> candidates = needle.length() < GRAM ? index.documents.values() : candidates(index, needle);
+        long skip = pageable.getOffset();
+        List<Item> result = new ArrayList<>();
+        for (Item candidate : candidates) {
+            if (!contains(candidate, needle)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(candidate);
+            if (result.size() == pageable.getPageSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Set<String> terms(Item document) {
+        Set<String> terms = trigrams(lower(document.getName()));
+        terms.addAll(trigrams(lower(document.getDescription())));
+        return terms;
+    }
+
+    private static Iterable<Item> candidates(Index index, String needle) {
+        long[] ids = null;
+        for (String trigram : trigrams(needle)) {
+            long[] list = index.postings.getOrDefault(trigram, Postings.EMPTY);
+            ids = ids == null ? list : Postings.intersect(ids, list);
+            if (ids.length == 0) {
+                return List.of();
+            }
+        }
+        long[] matches = ids;
+        return () -> Arrays.stream(matches).mapToObj(index.documents::get).filter(Objects::nonNull).iterator();
+    }
+
+    private static boolean contains(Item document, String needle) {
+        return lower(document.getName()).contains(needle) || lower(document.getDescription()).contains(needle);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            trigrams.add(value.substring(i, i + GRAM));
+        }
+        return trigrams;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -9,7 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -19,41 +20,56 @@ import ru.practicum.shareit.item.exception.AccessDeniedException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.ServiceMetricsConfig;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ServiceMetricsConfig.SERVICE_TIMER)
 @Slf4j
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
-    private final UserRepository userRepository;
     private final CommentRepository commentRepository;
-    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryService itemBookingSummaryService;
     private final BookingMapper bookingMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
     public ItemDto addItem(Long ownerId, ItemDto itemDto) {
-        User user = userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exist"));
+        User user = userExistenceChecker.getReference(ownerId);
         Item item = itemRepository.save(itemMapper.toItem(itemDto, user));
+        itemBookingSummaryService.track(item.getId());
+        itemSearchEngine.onItemSaved(item);
+        itemSearchCache.invalidate(null, item);
         return itemMapper.toItemDto(item);
     }
 
     @Override
     public ItemDto editItem(Long ownerId, Long itemId, ItemDto itemDto) {
-        User user = userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        User user = userExistenceChecker.getReference(ownerId);
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new AbsenceException("Item not exists"));
         Item newItem = itemMapper.toItem(itemDto, user);
         if (!Objects.equals(newItem.getOwner().getId(), ownerId)) {
             throw new AccessDeniedException("User не имеет права редактировать");
         }
+        Item before = Item.builder()
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
         if (newItem.getAvailable() != null) {
             item.setAvailable(newItem.getAvailable());
         }
@@ -64,31 +80,21 @@ public class ItemServiceImpl implements ItemService {
             item.setName(newItem.getName());
         }
         itemRepository.save(item);
+        itemSearchEngine.onItemSaved(item);
+        itemSearchCache.invalidate(before, item);
         return itemMapper.toItemDto(item);
     }
 
     @Override
     public ItemDtoBookingComments getItem(Long userId, Long itemId) {
-        userRepository.findById(userId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(userId);
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new AbsenceException("Item not exists"));
         ItemDtoBookingComments itemDtoBookingComments = itemMapper.toItemDtoBookingComments(item,
                 commentRepository.findAllByItem(item));
-        List<Booking> nextBookingsList = bookingRepository
-                .findNextOrderedBookingsByItemId((itemDtoBookingComments.getId()));
-        List<Booking> lastBookingsList = bookingRepository
-                .findLastOrderedBookingsByItemId(itemDtoBookingComments.getId());
-        if (!item.getOwner().getId().equals(userId)) {
-            nextBookingsList = null;
-            lastBookingsList = null;
-        } else {
-            if (!nextBookingsList.isEmpty()) {
-                BookingDto nextBooking = bookingMapper.toBookingDto(nextBookingsList.get(0));
-                itemDtoBookingComments.setNextBooking(nextBooking);
-            }
-            if (!lastBookingsList.isEmpty()) {
-                BookingDto lastBooking = bookingMapper.toBookingDto(lastBookingsList.get(0));
-                itemDtoBookingComments.setLastBooking(lastBooking);
-            }
+        if (item.getOwner().getId().equals(userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            itemBookingSummaryService.findLastAndNext(List.of(itemId), now)
+                    .forEach(booking -> setLastOrNextBooking(itemDtoBookingComments, booking, now));
         }
         return itemDtoBookingComments;
     }
@@ -98,7 +104,7 @@ public class ItemServiceImpl implements ItemService {
 
         Pageable pageable = PageRequest.of(from / size, size);
 
-        userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(ownerId);
 
         List<ItemDtoBookingComments> itemDtoList = new ArrayList<>();
         List<Item> itemList = itemRepository.findByOwnerId(pageable, ownerId);
@@ -110,37 +116,20 @@ public class ItemServiceImpl implements ItemService {
         Map<Long, List<Comment>> commentsMap = allComments.stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
-        List<Booking> nextBookingsList = bookingRepository.findNextOrderedBookingsByItemIds(itemIds);
-        List<Booking> lastBookingsList = bookingRepository.findLastOrderedBookingsByItemIds(itemIds);
-
-        Map<Long, List<BookingDto>> nextBookingsMap = nextBookingsList.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
-                        Collectors.mapping(bookingMapper::toBookingDto, Collectors.toList())));
-
-        Map<Long, List<BookingDto>> lastBookingsMap = lastBookingsList.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
-                        Collectors.mapping(bookingMapper::toBookingDto, Collectors.toList())));
-
+        Map<Long, ItemDtoBookingComments> itemDtoMap = new HashMap<>();
         for (Item item : itemList) {
-            Long itemId = item.getId();
             ItemDtoBookingComments itemDto = itemMapper.toItemDtoBookingComments(item,
-                    commentsMap.getOrDefault(itemId, Collections.emptyList()));
-
-            if (nextBookingsMap.containsKey(itemId)) {
-                List<BookingDto> nextBookings = nextBookingsMap.get(itemId);
-                BookingDto firstNextBooking = nextBookings.get(0);
-                itemDto.setNextBooking(firstNextBooking);
-            }
-
-            if (lastBookingsMap.containsKey(itemId)) {
-                List<BookingDto> lastBookings = lastBookingsMap.get(itemId);
-                BookingDto firstLastBooking = lastBookings.get(0);
-                itemDto.setLastBooking(firstLastBooking);
-            }
-
+                    commentsMap.getOrDefault(item.getId(), Collections.emptyList()));
+            itemDtoMap.put(item.getId(), itemDto);
             itemDtoList.add(itemDto);
         }
 
+        if (!itemIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            itemBookingSummaryService.findLastAndNext(itemIds, now)
+                    .forEach(booking -> setLastOrNextBooking(itemDtoMap.get(booking.getItem().getId()), booking, now));
+        }
+
         itemDtoList.sort(Comparator.comparing(ItemDtoBookingComments::getId));
 
         return itemDtoList;
@@ -152,8 +141,17 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
         Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.searchByText(text, pageable).stream()
+        return itemSearchCache.get(text, from, size, () -> itemSearchEngine.search(text, pageable).stream()
                 .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    private void setLastOrNextBooking(ItemDtoBookingComments itemDto, Booking booking, LocalDateTime now) {
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        if (booking.getStart().isBefore(now)) {
+            itemDto.setLastBooking(bookingDto);
+        } else {
+            itemDto.setNextBooking(bookingDto);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.Locale;
+
+/**
+ * Timers for service classes annotated with {@code @Timed(SERVICE_TIMER)}, tagged by class, method
+ * and booking state filter. Percentiles are configured in application.properties.
+ */
+@Configuration
+public class ServiceMetricsConfig {
+    public static final String SERVICE_TIMER = "shareit.service";
+    static final String NO_STATE = "none";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, ServiceMetricsConfig::tags);
+    }
+
+    static Tags tags(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return Tags.of("class", signature.getDeclaringType().getSimpleName(),
+                "method", signature.getName(),
+                "state", state(signature.getParameterNames(), joinPoint.getArgs()));
+    }
+
+    // Prometheus требует одинаковый набор тегов у всех таймеров, поэтому state есть всегда
+    private static String state(String[] parameterNames, Object[] args) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            if ("state".equals(parameterNames[i]) && args[i] instanceof String) {
+                String state = ((String) args[i]).toUpperCase(Locale.ROOT);
+                for (BookingState known : BookingState.values()) {
+                    if (known.name().equals(state)) {
+                        return state;
+                    }
+                }
+                return "UNSUPPORTED";
+            }
+        }
+        return NO_STATE;
+    }
+}
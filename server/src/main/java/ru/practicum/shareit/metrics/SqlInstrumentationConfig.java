@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource in a datasource-proxy to count and time statements per HTTP request
+ * and to log slow ones ({@code shareit.sql.*}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationDataSourceWrapper(
+            @Value("${shareit.sql.slow-query-threshold:PT0.5S}") Duration slowQueryThreshold,
+            @Value("${shareit.sql.slow-query-parameters:false}") boolean logParameters) {
+        SqlStatementListener listener = new SqlStatementListener(slowQueryThreshold, logParameters);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestMetricsFilter> sqlRequestMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.sql.debug-headers:false}") boolean debugHeaders) {
+        FilterRegistrationBean<SqlRequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestMetricsFilter(meterRegistry, debugHeaders));
+        // Снаружи остальных фильтров, чтобы учесть все запросы к базе за время обработки
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes JDBC statements and database time per request, tagged by method and URI template.
+ * With debug headers on, also returns them as {@code X-Sql-Statements} and {@code X-Sql-Time-Ms}.
+ */
+@RequiredArgsConstructor
+public class SqlRequestMetricsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeaders;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        // Заголовки пишутся после обработки, поэтому тело придерживается до их установки
+        ContentCachingResponseWrapper bufferedResponse = debugHeaders
+                ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            SqlRequestStats.finish();
+            record(request, stats);
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                bufferedResponse.setHeader(TIME_HEADER,
+                        String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1_000_000.0));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("shareit.db.statements")
+                .description("JDBC statements per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("shareit.db.time")
+                .description("Database time per HTTP request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
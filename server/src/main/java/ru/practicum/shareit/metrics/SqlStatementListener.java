@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds every executed statement to the current request's {@link SqlRequestStats}
+ * and logs statements slower than the threshold. Bind parameters carry user data, so their values
+ * are logged only when enabled and otherwise replaced with {@code ?}.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+    private static final String START = "shareit.sql.start";
+
+    private final long slowQueryNanos;
+    private final DefaultQueryLogEntryCreator logEntryCreator;
+
+    public SqlStatementListener(Duration slowQueryThreshold, boolean logParameters) {
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.logEntryCreator = logParameters ? new DefaultQueryLogEntryCreator() : new MaskedParametersLogEntryCreator();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Собственный замер в наносекундах: ExecutionInfo.getElapsedTime() округляет до миллисекунд
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long elapsed = start == null ? TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime())
+                : System.nanoTime() - start;
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+        if (elapsed >= slowQueryNanos) {
+            log.warn("Slow SQL, {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+    }
+
+    private static class MaskedParametersLogEntryCreator extends DefaultQueryLogEntryCreator {
+        @Override
+        protected String getParameterValueToDisplay(ParameterSetOperation param) {
+            return "?";
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.pagination.exception;
+
+import ru.practicum.shareit.exception.DomainException;
+
+public class InvalidCursorException extends DomainException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -36,6 +38,15 @@ public class ItemRequestController {
         return itemRequestService.getAllNotOwner(ownerId, from, size);
     }
 
+    @GetMapping(path = "/all", params = "after")
+    public ResponseEntity<List<ItemRequestDto>> getOtherItemRequestsAfter(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                          @RequestParam String after,
+                                                                          @RequestParam(required = false,
+                                                                                  defaultValue = "10")
+                                                                          @Positive Integer size) {
+        return CursorPage.toResponse(itemRequestService.getAllNotOwnerAfter(ownerId, after, size));
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getItemRequest(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                          @PathVariable Long requestId) {
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
@@ -12,4 +16,8 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequesterNot(User requester, Pageable pageable);
 
+    @Query("SELECT r FROM ItemRequest r WHERE r.requester.id <> :userId " +
+            "AND (r.created < :created OR (r.created = :created AND r.id < :id)) ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findOtherSlice(@Param("userId") Long userId, @Param("created") LocalDateTime created,
+                                      @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
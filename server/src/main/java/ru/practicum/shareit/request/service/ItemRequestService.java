@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllNotOwner(Long ownerId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDto> getAllNotOwnerAfter(Long ownerId, String after, Integer size);
+
     ItemRequestDto getItemRequestById(Long ownerId, Long requestId);
 }
\ No newline at end of file
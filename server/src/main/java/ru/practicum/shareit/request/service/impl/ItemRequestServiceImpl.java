@@ -1,8 +1,11 @@
 package ru.practicum.shareit.request.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -10,13 +13,16 @@ import ru.practicum.shareit.item.exception.AbsenceException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetricsConfig;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -26,19 +32,22 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ServiceMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
+    private static final Sort FEED_ORDER = Sort.by(Sort.Direction.DESC, "created", "id");
+
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
+    private final UserExistenceChecker userExistenceChecker;
 
     @Override
     @Transactional
     public ItemRequestDto addItemRequest(ItemRequestDto itemRequestDto, Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new AbsenceException("User not exists"));
+        User user = userExistenceChecker.getReference(userId);
         itemRequestDto.setCreated(LocalDateTime.now());
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestDto, user);
         return itemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest), List.of());
@@ -47,20 +56,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public List<ItemRequestDto> getOwnerResponse(Long userId) {
-        User requester = userRepository.findById(userId)
-                .orElseThrow(() -> new AbsenceException("User not exists"));
-
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequester(requester);
-        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
-        Map<Long, List<Item>> itemsByRequestId = itemRepository.findAllByRequestIn(requestIds).stream()
-                .collect(Collectors.groupingBy(Item::getRequest));
+        User requester = userExistenceChecker.getReference(userId);
 
-        return itemRequests.stream()
-                .map(itemRequest -> itemRequestMapper.toItemRequestDto(itemRequest,
-                        itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList())
-                                .stream()
-                                .map(itemMapper::toItemDto)
-                                .collect(Collectors.toList())))
+        return withItems(itemRequestRepository.findAllByRequester(requester)).stream()
                 .sorted(Comparator.comparing(ItemRequestDto::getCreated).reversed())
                 .collect(Collectors.toList());
     }
@@ -72,38 +70,51 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new IndexOutOfBoundsException();
         }
 
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new AbsenceException("User not exists"));
+        User user = userExistenceChecker.getReference(ownerId);
 
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = PageRequest.of(from / size, size, FEED_ORDER);
 
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterNot(user, pageable);
-
-        List<ItemRequestDto> itemRequestDtos = itemRequests.stream().map(itemRequest -> {
-                    List<Item> items = itemRepository.findAllByRequest(itemRequest.getId());
-                    List<ItemDto> itemDtos = items.stream()
-                            .map(itemMapper::toItemDto)
-                            .collect(Collectors.toList());
-                    return itemRequestMapper.toItemRequestDto(itemRequest, itemDtos);
-                })
-                .sorted(Comparator.comparing(ItemRequestDto::getCreated).reversed())
-                .collect(Collectors.toList());
+        return withItems(itemRequestRepository.findAllByRequesterNot(user, pageable));
+    }
 
-        return itemRequestDtos;
+    @Override
+    @Transactional
+    public CursorPage<ItemRequestDto> getAllNotOwnerAfter(Long ownerId, String after, Integer size) {
+        userExistenceChecker.requireExists(ownerId);
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<ItemRequest> slice = itemRequestRepository.findOtherSlice(ownerId, cursor.getTimestamp(),
+                cursor.getId(), PageRequest.of(0, size));
+        List<ItemRequestDto> itemRequests = withItems(slice.getContent());
+        String nextCursor = null;
+        if (slice.hasNext() && !itemRequests.isEmpty()) {
+            ItemRequestDto last = itemRequests.get(itemRequests.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        }
+        return new CursorPage<>(itemRequests, nextCursor);
     }
 
     @Override
     @Transactional
     public ItemRequestDto getItemRequestById(Long ownerId, Long requestId) {
-        userRepository.findById(ownerId).orElseThrow(() -> new AbsenceException("User not exists"));
+        userExistenceChecker.requireExists(ownerId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new AbsenceException("Request not exists"));
 
-        List<ItemDto> itemDtos = itemRepository.findAllByRequest(itemRequest.getId())
-                .stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return withItems(List.of(itemRequest)).get(0);
+    }
 
-        return itemRequestMapper.toItemRequestDto(itemRequest, itemDtos);
+    // Ответы на все запросы страницы загружаются одним запросом, порядок запросов сохраняется
+    private List<ItemRequestDto> withItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository.findAllByRequestIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequest,
+                        Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
+        return itemRequests.stream()
+                .map(itemRequest -> itemRequestMapper.toItemRequestDto(itemRequest,
+                        itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.schema;
+
+public enum IndexCheckMode {
+    // Не запускать приложение без обязательных индексов
+    FAIL,
+    // Только предупреждение в логе
+    WARN,
+    OFF
+}
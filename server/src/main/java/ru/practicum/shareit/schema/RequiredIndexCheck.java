@@ -0,0 +1,107 @@
+package ru.practicum.shareit.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Verifies after every Flyway run that the indexes the hot queries rely on exist, so a database
+ * that skipped a migration fails at startup instead of degrading into sequential scans.
+ */
+@Component
+@Slf4j
+public class RequiredIndexCheck implements Callback {
+
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "bookings", List.of("ix_bookings_booker_start", "ix_bookings_booker_status_start",
+                    "ix_bookings_item_status_start", "ix_bookings_booker_item_status_end"),
+            "items", List.of("ix_items_owner"),
+            "requests", List.of("ix_requests_created_id"),
+            "item_booking_summary", List.of("ix_item_booking_summary_expires_at"));
+
+    private static final Map<String, List<String>> POSTGRESQL_INDEXES = Map.of(
+            "items", List.of("ix_items_search_vector", "ix_items_name_trgm", "ix_items_description_trgm"));
+
+    private final IndexCheckMode mode;
+
+    public RequiredIndexCheck(@Value("${shareit.schema.index-check:fail}") IndexCheckMode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE && mode != IndexCheckMode.OFF;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> missing;
+        try {
+            missing = findMissingIndexes(context.getConnection());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to read index metadata", e);
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (mode == IndexCheckMode.FAIL) {
+            throw new IllegalStateException("Required indexes are missing: " + missing);
+        }
+        log.warn("Required indexes are missing: {}", missing);
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "required-index-check";
+    }
+
+    public List<String> findMissingIndexes(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, List<String>> required = new HashMap<>();
+        REQUIRED_INDEXES.forEach((table, indexes) -> required.computeIfAbsent(table, t -> new ArrayList<>())
+                .addAll(indexes));
+        if ("PostgreSQL".equalsIgnoreCase(metaData.getDatabaseProductName())) {
+            POSTGRESQL_INDEXES.forEach((table, indexes) -> required.computeIfAbsent(table, t -> new ArrayList<>())
+                    .addAll(indexes));
+        }
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : required.entrySet()) {
+            Set<String> present = new HashSet<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null,
+                    identifier(metaData, entry.getKey()), false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        present.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            entry.getValue().stream()
+                    .filter(index -> !present.contains(index))
+                    .forEach(missing::add);
+        }
+        Collections.sort(missing);
+        return missing;
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.exception;
 
-public class EmailDuplicateException extends RuntimeException {
+import ru.practicum.shareit.exception.DomainException;
+
+public class EmailDuplicateException extends DomainException {
     public EmailDuplicateException(String message) {
         super(message);
     }
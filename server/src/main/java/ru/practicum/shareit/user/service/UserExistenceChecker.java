@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.exception.AbsenceException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Checks that a user exists without loading it. Ids confirmed by the database are remembered
+ * process-wide until the user is deleted or the entry expires, so repeated checks of the same
+ * user cost no query.
+ */
+@Component
+public class UserExistenceChecker {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistenceChecker(UserRepository userRepository,
+                                @Value("${shareit.user.existence-cache.max-size:100000}") long maxSize,
+                                @Value("${shareit.user.existence-cache.expire-after-write:PT5M}")
+                                Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public void requireExists(Long userId) {
+        if (knownUsers.getIfPresent(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new AbsenceException("User not exists");
+        }
+        knownUsers.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Returns an uninitialized reference for use as an association of a new or edited entity.
+     */
+    public User getReference(Long userId) {
+        requireExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    // Повторно после коммита: параллельная проверка могла успеть вернуть id в кэш
+    public void forget(Long userId) {
+        knownUsers.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownUsers.invalidate(userId);
+                }
+            });
+        }
+    }
+}
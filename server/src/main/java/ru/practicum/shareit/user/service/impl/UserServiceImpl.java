@@ -1,14 +1,17 @@
 package ru.practicum.shareit.user.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.item.exception.AbsenceException;
+import ru.practicum.shareit.metrics.ServiceMetricsConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.exception.EmailDuplicateException;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.transaction.Transactional;
@@ -17,6 +20,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(ServiceMetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
@@ -24,6 +28,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
 
+    private final UserExistenceChecker userExistenceChecker;
+
     @Override
     @Transactional
     public UserDto addUser(UserDto userDto) {
@@ -71,5 +77,6 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(Long removeId) {
         userRepository.deleteById(removeId);
+        userExistenceChecker.forget(removeId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created, id);
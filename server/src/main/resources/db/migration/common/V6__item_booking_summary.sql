@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         BIGINT                      NOT NULL,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    expires_at      TIMESTAMP WITHOUT TIME ZONE,
+    refreshed_at    TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    CONSTRAINT fk_summary_item FOREIGN KEY (item_id) REFERENCES items (id),
+    CONSTRAINT fk_summary_last_booking FOREIGN KEY (last_booking_id) REFERENCES bookings (id),
+    CONSTRAINT fk_summary_next_booking FOREIGN KEY (next_booking_id) REFERENCES bookings (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_item_booking_summary_expires_at ON item_booking_summary (expires_at);
+
+-- expires_at - ближайшее начало будущего подтверждённого бронирования: до этого момента last и next не меняются
+INSERT INTO item_booking_summary (item_id, last_booking_id, next_booking_id, expires_at, refreshed_at)
+SELECT i.id,
+       (SELECT b.id FROM bookings b
+        WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date < LOCALTIMESTAMP
+        ORDER BY b.end_date DESC, b.id DESC LIMIT 1),
+       (SELECT b.id FROM bookings b
+        WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > LOCALTIMESTAMP
+        ORDER BY b.end_date ASC, b.id ASC LIMIT 1),
+       (SELECT MIN(b.start_date) FROM bookings b
+        WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date > LOCALTIMESTAMP),
+       LOCALTIMESTAMP
+FROM items i;
@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.AccessDeniedException;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -26,6 +27,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -172,4 +174,18 @@ public class BookingControllerTests {
                 .andExpect(jsonPath("$[0].itemId", is(bookingDto.getItemId()), Long.class))
                 .andExpect(jsonPath("$[0].bookerId", is(bookingDto.getBookerId()), Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getUserItemsBookingAfterCursorTest() {
+        when(bookingService.getByStateOwnerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("after", "")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+}
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.repository.BookingIntervalView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingIntervalIndexTests {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(1);
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(Item.builder().build()));
+    }
+
+    @Test
+    void reserve_whenIntervalOverlapsWarmedBooking_thenBookingOverlapExceptionThrown() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(any(), any()))
+                .thenReturn(List.of(view(1L, 1L, base, base.plusHours(2))));
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.INDEX);
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base.plusHours(1), base.plusHours(3)));
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base.minusHours(1), base.plusHours(5)));
+        verify(itemRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void reserve_whenIntervalIsAdjacent_thenReserved() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(any(), any()))
+                .thenReturn(List.of(view(1L, 1L, base, base.plusHours(2))));
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.INDEX);
+
+        assertDoesNotThrow(() -> index.reserve(1L, base.plusHours(2), base.plusHours(3)));
+        assertDoesNotThrow(() -> index.reserve(1L, base.minusHours(1), base));
+        assertDoesNotThrow(() -> index.reserve(2L, base, base.plusHours(2)));
+    }
+
+    @Test
+    void reserve_whenLongBookingStartedEarlier_thenBookingOverlapExceptionThrown() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(any(), any()))
+                .thenReturn(List.of(view(1L, 1L, base, base.plusDays(10)),
+                        view(2L, 1L, base.plusDays(1), base.plusDays(1).plusHours(1))));
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.INDEX);
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base.plusDays(5), base.plusDays(6)));
+    }
+
+    @Test
+    void reserve_whenReservedTwice_thenSecondReservationRejected() {
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.INDEX);
+
+        index.bind(index.reserve(1L, base, base.plusHours(1)), 10L);
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base, base.plusHours(1)));
+    }
+
+    @Test
+    void release_whenBookingRejected_thenIntervalFreed() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(any(), any()))
+                .thenReturn(List.of(view(1L, 1L, base, base.plusHours(2))));
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.INDEX);
+
+        index.release(1L, 1L);
+
+        assertDoesNotThrow(() -> index.reserve(1L, base, base.plusHours(2)));
+    }
+
+    @Test
+    void reserve_whenIndexIsCold_thenItemLockedAndReloaded() {
+        BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, itemRepository,
+                OverlapCheckMode.INDEX, Duration.ofMinutes(10));
+        when(bookingRepository.findIntervalsByItemId(eq(1L), any(), any()))
+                .thenReturn(List.of(view(1L, 1L, base, base.plusHours(2))));
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base.plusHours(1), base.plusHours(3)));
+        verify(itemRepository).findByIdForUpdate(1L);
+        verify(bookingRepository).findIntervalsByItemId(eq(1L), any(), any());
+    }
+
+    @Test
+    void reserve_whenIndexExpiresBeforeReservationIsStored_thenReservationKept() throws InterruptedException {
+        BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, itemRepository,
+                OverlapCheckMode.INDEX, Duration.ofMillis(1));
+        index.warmUp();
+        index.reserve(1L, base, base.plusHours(1));
+        index.bind(index.reserve(1L, base.plusHours(2), base.plusHours(3)), 10L);
+        Thread.sleep(5);
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base, base.plusHours(1)));
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base.plusHours(2), base.plusHours(3)));
+        verify(bookingRepository, atLeastOnce()).findIntervalsByItemId(eq(1L), any(), any());
+    }
+
+    @Test
+    void reserve_whenConcurrentReservationsCrossMaxAge_thenOnlyOneAccepted() throws Exception {
+        BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, itemRepository,
+                OverlapCheckMode.INDEX, Duration.ofMillis(1));
+        index.warmUp();
+        int threads = 8;
+        int rounds = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                LocalDateTime start = base.plusDays(round);
+                CountDownLatch ready = new CountDownLatch(1);
+                AtomicInteger accepted = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executor.submit(() -> {
+                        ready.await();
+                        try {
+                            index.reserve(1L, start, start.plusHours(1));
+                            accepted.incrementAndGet();
+                        } catch (BookingOverlapException ignored) {
+                            // Пересечение с уже принятым резервом
+                        }
+                        return null;
+                    }));
+                }
+                Thread.sleep(2);
+                ready.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+                assertEquals(1, accepted.get(), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reserve_whenDatabaseMode_thenOverlapCheckedInDatabase() {
+        BookingIntervalIndex index = warmedIndex(OverlapCheckMode.DATABASE);
+        when(bookingRepository.existsOverlapping(eq(1L), any(), any(), any())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> index.reserve(1L, base, base.plusHours(1)));
+        verify(itemRepository).findByIdForUpdate(1L);
+        verify(bookingRepository, never()).findIntervalsByStatusInAndEndAfter(any(), any());
+    }
+
+    private BookingIntervalIndex warmedIndex(OverlapCheckMode mode) {
+        BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, itemRepository, mode,
+                Duration.ofMinutes(10));
+        index.warmUp();
+        return index;
+    }
+
+    private BookingIntervalView view(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -6,14 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -100,6 +104,61 @@ class BookingRepositoryTest {
         assertEquals(booking2, bookings.getContent().get(0));
     }
 
+    @Test
+    void testFindBookerSliceByStatus_ShouldPageByStartAndIdDescending() {
+        User booker = saveRandomUser();
+        Item item = saveRandomItem(saveRandomUser());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking first = bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .status(BookingStatus.WAITING).start(start).end(start.plusHours(1)).build());
+        Booking second = bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .status(BookingStatus.WAITING).start(start).end(start.plusHours(1)).build());
+        Booking latest = bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .status(BookingStatus.APPROVED).start(start.plusDays(1)).end(start.plusDays(2)).build());
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        Slice<Booking> firstSlice = bookingRepository.findBookerSliceByStatus(booker.getId(),
+                EnumSet.allOf(BookingStatus.class), KeysetCursor.FIRST.getTimestamp(), KeysetCursor.FIRST.getId(),
+                pageRequest);
+        Booking last = firstSlice.getContent().get(1);
+        Slice<Booking> secondSlice = bookingRepository.findBookerSliceByStatus(booker.getId(),
+                EnumSet.allOf(BookingStatus.class), last.getStart(), last.getId(), pageRequest);
+
+        assertTrue(firstSlice.hasNext());
+        assertEquals(latest, firstSlice.getContent().get(0));
+        assertEquals(second, last);
+        assertThat(secondSlice.getNumberOfElements(), equalTo(1));
+        assertEquals(first, secondSlice.getContent().get(0));
+        assertTrue(!secondSlice.hasNext());
+    }
+
+    @Test
+    void testFindLastAndNextByItemIds_ShouldReturnOneLastAndOneNextBookingPerItem() {
+        User booker = saveRandomUser();
+        User owner = saveRandomUser();
+        Item item = saveRandomItem(owner);
+        Item otherItem = saveRandomItem(owner);
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder().booker(booker).item(item).status(BookingStatus.APPROVED)
+                .start(now.minusDays(3)).end(now.minusDays(2)).build());
+        Booking last = bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .status(BookingStatus.APPROVED).start(now.minusDays(1)).end(now.minusHours(1)).build());
+        Booking next = bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .status(BookingStatus.APPROVED).start(now.plusDays(1)).end(now.plusDays(2)).build());
+        bookingRepository.save(Booking.builder().booker(booker).item(item).status(BookingStatus.APPROVED)
+                .start(now.plusDays(3)).end(now.plusDays(4)).build());
+        bookingRepository.save(Booking.builder().booker(booker).item(item).status(BookingStatus.REJECTED)
+                .start(now.plusHours(1)).end(now.plusHours(2)).build());
+        Booking otherNext = bookingRepository.save(Booking.builder().booker(booker).item(otherItem)
+                .status(BookingStatus.APPROVED).start(now.plusDays(1)).end(now.plusDays(2)).build());
+
+        List<Booking> bookings = bookingRepository.findLastAndNextByItemIds(
+                List.of(item.getId(), otherItem.getId()), now);
+
+        assertThat(bookings.size(), equalTo(3));
+        assertTrue(bookings.containsAll(List.of(last, next, otherNext)));
+    }
+
     @Test
     void testFindByBookerIdAndStartIsAfter_ShouldReturnFutureBookingsForBooker() {
         PageRequest pageRequest = PageRequest.of(0, 1);
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -22,6 +23,7 @@ import java.util.Random;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -75,6 +77,26 @@ class BookingIntegrationTests {
         assertThat(returnedBooking.getItem().getId(), equalTo(item.getId()));
     }
 
+    @Test
+    @Transactional
+    void add_whenIntervalOverlapsWaitingBooking_thenBookingOverlapExceptionThrown() {
+        User booker = saveRandomUser();
+        User itemOwner = saveRandomUser();
+        Item item = saveRandomItem(itemOwner);
+        bookingService.addBooking(BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(3))
+                .build(), booker.getId());
+        BookingDto overlapping = BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusHours(2))
+                .end(LocalDateTime.now().plusHours(4))
+                .build();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(overlapping, booker.getId()));
+    }
+
     @Test
     @Transactional
     void changeStatus_whenInvoked_thenBookingWithChangedStatusSavedToDB() {
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BookingQueryCountTests {
+
+    // Проверка пользователя, проверка вещей владельца, выборка страницы и подсчёт количества
+    private static final long MAX_STATEMENTS = 4;
+    private static final int BOOKINGS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager em;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser();
+        booker = saveUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = itemRepository.save(Item.builder().name("item").description("description")
+                    .available(true).owner(owner).build());
+            bookingRepository.save(Booking.builder().item(item).booker(i % 2 == 0 ? booker : saveUser())
+                    .start(start.plusDays(i)).end(start.plusDays(i).plusHours(1))
+                    .status(BookingStatus.WAITING).build());
+        }
+        em.flush();
+        em.clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getByStateOwner_whenPageLoaded_thenItemsAndBookersFetchedWithPage() {
+        List<BookingDto> bookings = bookingService.getByStateOwner(owner.getId(), "ALL", 0, BOOKINGS);
+
+        assertThat(bookings, hasSize(BOOKINGS));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @Test
+    void getByStateOwnerAfter_whenSliceLoaded_thenItemsAndBookersFetchedWithSlice() {
+        List<BookingDto> bookings = bookingService.getByStateOwnerAfter(owner.getId(), "FUTURE", null, BOOKINGS)
+                .getContent();
+
+        assertThat(bookings, hasSize(BOOKINGS));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    @Test
+    void getByState_whenPageLoaded_thenItemsAndBookersFetchedWithPage() {
+        List<BookingDto> bookings = bookingService.getByState(booker.getId(), "WAITING", 0, 2);
+
+        assertThat(bookings, hasSize(2));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_STATEMENTS));
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder().name("user").email(UUID.randomUUID() + "@mail.ru").build());
+    }
+}
@@ -13,22 +13,28 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
 import ru.practicum.shareit.booking.exception.WrongDateBookingException;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.booking.service.impl.BookingServiceImpl;
 import ru.practicum.shareit.item.exception.AbsenceException;
 import ru.practicum.shareit.item.exception.ItemUnavailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -47,11 +53,17 @@ class BookingUnitTests {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserExistenceChecker userExistenceChecker;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper bookingMapper;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private Long bookerId;
@@ -120,7 +132,6 @@ class BookingUnitTests {
         String state = "ALL";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
         } catch (ItemUnavailableException ignored) {
@@ -148,6 +159,40 @@ class BookingUnitTests {
         assertThrows(UnsupportedStatusException.class, () -> bookingService.editBookingStatus(ownerId, bookingId, approved));
     }
 
+    @Test
+    void editBookingStatus_whenApproved_thenItemSummaryRefreshed() {
+        Long ownerId = 1L;
+        Long bookingId = 2L;
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .status(BookingStatus.WAITING)
+                .item(Item.builder().id(itemId).owner(User.builder().id(ownerId).build()).build())
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        bookingService.editBookingStatus(ownerId, bookingId, true);
+
+        verify(itemBookingSummaryService).refresh(itemId);
+    }
+
+    @Test
+    void editBookingStatus_whenRejected_thenItemSummaryNotRefreshed() {
+        Long ownerId = 1L;
+        Long bookingId = 2L;
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .status(BookingStatus.WAITING)
+                .item(Item.builder().id(itemId).owner(User.builder().id(ownerId).build()).build())
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        bookingService.editBookingStatus(ownerId, bookingId, false);
+
+        verify(itemBookingSummaryService, never()).refresh(any());
+    }
+
     @Test
     void getByStateOwner_whenInvalidState_thenUnsupportedStatusExceptionThrown() {
         Long ownerId = 1L;
@@ -155,7 +200,6 @@ class BookingUnitTests {
         int from = 0;
         int size = 5;
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(User.builder().id(ownerId).build()));
 
         assertThrows(UnsupportedStatusException.class, () -> bookingService.getByStateOwner(ownerId, state, from, size));
     }
@@ -178,7 +222,6 @@ class BookingUnitTests {
         String state = "PAST";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
         } catch (ItemUnavailableException ignored) {
@@ -194,7 +237,6 @@ class BookingUnitTests {
         String state = "FUTURE";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
         } catch (ItemUnavailableException ignored) {
@@ -210,7 +252,6 @@ class BookingUnitTests {
         String state = "WAITING";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
         } catch (ItemUnavailableException ignored) {
@@ -226,7 +267,6 @@ class BookingUnitTests {
         String state = "REJECTED";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
         } catch (ItemUnavailableException ignored) {
@@ -260,7 +300,6 @@ class BookingUnitTests {
         String state = "ALL";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -287,7 +326,6 @@ class BookingUnitTests {
 
         PageRequest pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
         when(bookingRepository.findByBookerId(bookerId, pageable)).thenReturn(new PageImpl<>(bookingList));
         when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -304,6 +342,45 @@ class BookingUnitTests {
         verify(bookingRepository).findByBookerId(bookerId, pageable);
     }
 
+    @Test
+    void getByStateAfter_whenSliceHasNext_thenNextCursorPointsToLastBooking() {
+        Long bookerId = 1L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        KeysetCursor after = new KeysetCursor(start.plusDays(1), 10L);
+        PageRequest pageable = PageRequest.of(0, 2);
+        List<Booking> bookingList = List.of(Booking.builder().id(9L).start(start).build(),
+                Booking.builder().id(8L).start(start).build());
+
+        when(bookingRepository.findBookerSliceByStatus(eq(bookerId), eq(List.of(BookingStatus.WAITING)),
+                eq(after.getTimestamp()), eq(after.getId()), eq(pageable)))
+                .thenReturn(new SliceImpl<>(bookingList, pageable, true));
+        when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            return BookingDto.builder().id(booking.getId()).start(booking.getStart()).build();
+        });
+
+        CursorPage<BookingDto> result = bookingService.getByStateAfter(bookerId, "WAITING", after.encode(), 2);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(new KeysetCursor(start, 8L), KeysetCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getByStateOwnerAfter_whenLastSlice_thenNoNextCursor() {
+        Long ownerId = 1L;
+        PageRequest pageable = PageRequest.of(0, 5);
+
+        when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
+        when(bookingRepository.findOwnerSliceFuture(eq(ownerId), any(), eq(KeysetCursor.FIRST.getTimestamp()),
+                eq(KeysetCursor.FIRST.getId()), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(booking), pageable, false));
+
+        CursorPage<BookingDto> result = bookingService.getByStateOwnerAfter(ownerId, "FUTURE", "", 5);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(null, result.getNextCursor());
+    }
+
     @Test
     void getByState_whenStateIsPast_thenReturnPastBookingsForBooker() {
         Long bookerId = 1L;
@@ -318,7 +395,6 @@ class BookingUnitTests {
 
         PageRequest pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
         when(bookingRepository.findByBookerIdAndEndIsBefore(bookerId, LocalDateTime.now(), pageable))
                 .thenReturn(new PageImpl<>(pastBookings));
         when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
@@ -353,7 +429,6 @@ class BookingUnitTests {
 
         PageRequest pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
         when(bookingRepository.findByBookerIdAndStartIsAfter(bookerId, LocalDateTime.now(), pageable))
                 .thenReturn(new PageImpl<>(futureBookings));
         when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
@@ -387,7 +462,6 @@ class BookingUnitTests {
 
         PageRequest pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
         when(bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable))
                 .thenReturn(new PageImpl<>(waitingBookings));
         when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
@@ -417,7 +491,6 @@ class BookingUnitTests {
 
         PageRequest pageable = PageRequest.of(from, size, Sort.by(Sort.Order.desc("start")));
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
         when(bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable))
                 .thenReturn(new PageImpl<>(rejectedBookings));
         when(bookingMapper.toBookingDto(any())).thenAnswer(invocation -> {
@@ -441,7 +514,6 @@ class BookingUnitTests {
         int from = 0;
         int size = 5;
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.of(getValidUser(bookerId)));
 
         assertThrows(UnsupportedStatusException.class, () -> bookingService.getByState(bookerId, state, from, size));
     }
@@ -453,7 +525,7 @@ class BookingUnitTests {
         int from = 0;
         int size = 5;
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(bookerId);
 
         assertThrows(AbsenceException.class, () -> bookingService.getByState(bookerId, state, from, size));
     }
@@ -464,7 +536,6 @@ class BookingUnitTests {
         String state = "CURRENT";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -481,7 +552,6 @@ class BookingUnitTests {
         String state = "PAST";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -592,6 +662,7 @@ class BookingUnitTests {
                 .booker(bookingOwner)
                 .build();
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(requestedBooking));
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(requestedUserId);
 
         assertThrows(AbsenceException.class, () -> bookingService.getById(requestedUserId, bookingId));
     }
@@ -666,7 +737,7 @@ class BookingUnitTests {
         String state = "all";
         int from = 0;
         int size = 0;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(bookerId);
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getByStateOwner(bookerId, state, from, size));
     }
@@ -677,8 +748,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 0;
         int size = 20;
-        when(userRepository.findById(bookerId))
-                .thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -696,7 +765,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 5;
         int size = 20;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -715,7 +783,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -736,7 +803,6 @@ class BookingUnitTests {
         String state = "current";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -757,7 +823,6 @@ class BookingUnitTests {
         String state = "past";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -779,8 +844,6 @@ class BookingUnitTests {
         String state = "waiting";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId))
-                .thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -804,7 +867,6 @@ class BookingUnitTests {
         String state = "rejected";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(bookerId)).thenReturn(Optional.ofNullable(getValidUser(bookerId)));
 
         try {
             bookingService.getByStateOwner(bookerId, state, from, size);
@@ -846,7 +908,7 @@ class BookingUnitTests {
         String state = "all";
         int from = 0;
         int size = 0;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(ownerId);
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getByStateOwner(ownerId, state, from, size));
     }
@@ -858,7 +920,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 0;
         int size = 0;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of());
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getByStateOwner(ownerId, state, from, size));
@@ -870,7 +931,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 0;
         int size = 20;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
 
         try {
@@ -889,7 +949,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 5;
         int size = 20;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
 
         try {
@@ -909,7 +968,6 @@ class BookingUnitTests {
         String state = "all";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
 
         try {
@@ -930,7 +988,6 @@ class BookingUnitTests {
         String state = "current";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
 
         try {
@@ -952,7 +1009,6 @@ class BookingUnitTests {
         String state = "past";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(getValidItem(0L)));
 
         try {
@@ -973,8 +1029,6 @@ class BookingUnitTests {
         String state = "future";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId))
                 .thenReturn(List.of(getValidItem(0L)));
 
@@ -997,8 +1051,6 @@ class BookingUnitTests {
         String state = "waiting";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId))
                 .thenReturn(List.of(getValidItem(0L)));
 
@@ -1022,8 +1074,6 @@ class BookingUnitTests {
         String state = "rejected";
         int from = 5;
         int size = 3;
-        when(userRepository.findById(ownerId))
-                .thenReturn(Optional.of(getValidUser(ownerId)));
         when(itemRepository.findByOwnerId(ownerId))
                 .thenReturn(List.of(getValidItem(0L)));
 
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Transactional
+class ItemBookingSummaryServiceTests {
+
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager em;
+    private User owner;
+    private Item item;
+    private Booking past;
+    private Booking future;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        owner = saveUser();
+        User booker = saveUser();
+        item = itemRepository.save(Item.builder().name("item").description("description")
+                .available(true).owner(owner).build());
+        summaryService.track(item.getId());
+        past = saveBooking(booker, now.minusDays(2), BookingStatus.APPROVED);
+        future = saveBooking(booker, now.plusDays(1), BookingStatus.WAITING);
+        saveBooking(booker, now.plusDays(3), BookingStatus.REJECTED);
+    }
+
+    @Test
+    void editBookingStatus_whenApproved_thenSummaryPointsToLastAndNext() {
+        bookingService.editBookingStatus(owner.getId(), future.getId(), true);
+        em.flush();
+        em.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(past.getId(), summary.getLastBooking().getId());
+        assertEquals(future.getId(), summary.getNextBooking().getId());
+        assertEquals(future.getStart().withNano(0), summary.getExpiresAt().withNano(0));
+    }
+
+    @Test
+    void findLastAndNext_whenSummaryFresh_thenBookingsTakenFromSummary() {
+        summaryService.refresh(item.getId());
+        em.flush();
+        em.clear();
+
+        List<Long> ids = ids(summaryService.findLastAndNext(List.of(item.getId()), now));
+
+        assertEquals(List.of(past.getId()), ids);
+    }
+
+    @Test
+    void findLastAndNext_whenSummaryExpired_thenBookingsComputedFromBookings() {
+        future.setStatus(BookingStatus.APPROVED);
+        summaryRepository.save(ItemBookingSummary.builder().itemId(item.getId())
+                .expiresAt(now.minusMinutes(1)).refreshedAt(now.minusDays(1)).build());
+        em.flush();
+        em.clear();
+
+        List<Long> ids = ids(summaryService.findLastAndNext(List.of(item.getId()), now));
+
+        assertThat(ids, containsInAnyOrder(past.getId(), future.getId()));
+    }
+
+    @Test
+    void rollExpired_whenNextBookingStarted_thenSummaryRecomputed() {
+        summaryRepository.save(ItemBookingSummary.builder().itemId(item.getId())
+                .expiresAt(now.minusMinutes(1)).refreshedAt(now.minusDays(1)).build());
+        em.flush();
+        em.clear();
+
+        assertThat(summaryService.rollExpired(LocalDateTime.now()), greaterThanOrEqualTo(1));
+        em.flush();
+        em.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(past.getId(), summary.getLastBooking().getId());
+        assertNull(summary.getNextBooking());
+        assertNull(summary.getExpiresAt());
+    }
+
+    private List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private Booking saveBooking(User booker, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(start).end(start.plusHours(1)).status(status).build());
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder().name("user").email(UUID.randomUUID() + "@mail.ru").build());
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+@SpringBootTest(properties = {
+        "shareit.entity-cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class EntityCacheTests {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CacheManager entityCacheManager;
+    private Statistics statistics;
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().name("cached").email("cached@mail.ru").build());
+        item = itemRepository.save(Item.builder().name("drill").description("cached drill")
+                .available(true).owner(user).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void findById_whenLoadedInSeparateTransactions_thenSecondLoadServedFromCache() {
+        userRepository.findById(user.getId());
+        itemRepository.findById(item.getId());
+        statistics.clear();
+
+        userRepository.findById(user.getId());
+        itemRepository.findById(item.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findById_whenUserUpdated_thenFreshValueReturned() {
+        user.setName("renamed");
+        userRepository.save(user);
+
+        assertEquals("renamed", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void metrics_whenCacheEnabled_thenRegionsPublished() {
+        userRepository.findById(user.getId());
+
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", EntityCacheConfig.USERS).functionCounter());
+        assertNotNull(meterRegistry.find("cache.size").tag("cache", EntityCacheConfig.ITEMS).gauge());
+    }
+
+    @Test
+    void entityCacheManager_whenAnotherContextIsRunning_thenOwnManagerCreated() {
+        CacheManager cacheManager = new EntityCacheConfig().entityCacheManager(10, Duration.ofMinutes(1),
+                10, Duration.ofMinutes(1));
+        try {
+            assertNotSame(entityCacheManager, cacheManager);
+            assertNotNull(cacheManager.getCache(EntityCacheConfig.USERS));
+        } finally {
+            cacheManager.close();
+        }
+    }
+}
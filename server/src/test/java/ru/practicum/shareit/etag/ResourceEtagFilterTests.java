@@ -0,0 +1,75 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourceEtagFilterTests {
+    private static final String BODY = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}";
+
+    private final ResourceEtagFilter filter = new ResourceEtagFilter();
+
+    @Test
+    void singleResourceGetsStrongEtag() throws Exception {
+        MockHttpServletResponse response = get("/users/1", null);
+
+        String etag = response.getHeader("ETag");
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+        String etag = get("/items/1", null).getHeader("ETag");
+
+        MockHttpServletResponse response = get("/items/1", etag);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsBody() throws Exception {
+        MockHttpServletResponse response = get("/requests/1", "\"0stale\"");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void listsAreNotHashed() throws Exception {
+        assertNull(get("/items", null).getHeader("ETag"));
+        assertNull(get("/requests/all", null).getHeader("ETag"));
+        assertTrue(get("/items/search", null).getContentAsString().contains("user"));
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
+import ru.practicum.shareit.item.exception.AbsenceException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainExceptionTests {
+
+    @AfterEach
+    void tearDown() {
+        DomainException.setStackTraces(false);
+    }
+
+    @Test
+    void stackTraceIsNotCapturedByDefault() {
+        AbsenceException e = new AbsenceException("User not exists");
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("User not exists", e.getMessage());
+    }
+
+    @Test
+    void stackTraceIsCapturedWhenEnabled() {
+        DomainException.setStackTraces(true);
+
+        UnsupportedStatusException e = new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+
+        assertTrue(e.getStackTrace().length > 0);
+        assertEquals("stackTraceIsCapturedWhenEnabled", e.getStackTrace()[0].getMethodName());
+    }
+
+    @Test
+    void config_whenContextClosed_thenPreviousValueRestored() {
+        DomainExceptionConfig config = new DomainExceptionConfig(true);
+
+        assertTrue(DomainException.isStackTraces());
+        config.destroy();
+        assertFalse(DomainException.isStackTraces());
+    }
+}
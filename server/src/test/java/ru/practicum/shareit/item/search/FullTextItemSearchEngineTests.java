@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextItemSearchEngineTests {
+
+    @Test
+    void toPrefixQuery_whenSeveralWords_thenPrefixTermsJoinedWithAnd() {
+        assertEquals("дрель:* & акк:*", FullTextItemSearchEngine.toPrefixQuery("ДрЕль  акк"));
+    }
+
+    @Test
+    void toPrefixQuery_whenTsQueryOperatorsPassed_thenOperatorsDropped() {
+        assertEquals("a:* & b:*", FullTextItemSearchEngine.toPrefixQuery("a' | !b:*"));
+        assertEquals("", FullTextItemSearchEngine.toPrefixQuery("&|!"));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+    private InvertedIndexItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAvailableAfter(eq(0L), any())).thenReturn(List.of(
+                item(1L, "Дрель", "Простая дрель", true),
+                item(2L, "Отвертка", "Аккумуляторная отвертка", true),
+                item(3L, "Дрель аккумуляторная", "Мощная", true)));
+        engine = new InvertedIndexItemSearchEngine(itemRepository);
+        engine.rebuild();
+    }
+
+    @Test
+    void search_whenWordPrefixInAnyCase_thenMatchingItemsReturnedById() {
+        assertEquals(List.of(1L, 3L), ids(engine.search("дРелЬ", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L, 3L), ids(engine.search("аккУМУ", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L), ids(engine.search("оТверТ", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_whenSeveralWords_thenAllWordsRequired() {
+        assertEquals(List.of(3L), ids(engine.search("дрель акк", PageRequest.of(0, 10))));
+        assertTrue(engine.search("дрель молоток", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_whenPageRequested_thenPageOfIdsReturned() {
+        assertEquals(List.of(3L), ids(engine.search("акк", PageRequest.of(1, 1))));
+        assertTrue(engine.search("акк", PageRequest.of(2, 1)).isEmpty());
+    }
+
+    @Test
+    void onItemSaved_whenItemEdited_thenIndexUpdated() {
+        engine.onItemSaved(item(1L, "Молоток", "Тяжёлый", true));
+        engine.onItemSaved(item(2L, "Отвертка", "Аккумуляторная отвертка", false));
+        engine.onItemSaved(item(4L, "Дрель", "Новая", true));
+
+        assertEquals(List.of(3L, 4L), ids(engine.search("дрель", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L), ids(engine.search("молот", PageRequest.of(0, 10))));
+        assertTrue(engine.search("отвертка", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void intersect_whenListsDifferInLength_thenCommonIdsReturned() {
+        long[] large = new long[100];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2L;
+        }
+
+        assertEquals(List.of(4L, 98L), List.of(boxed(Postings.intersect(new long[]{3, 4, 98, 99}, large))));
+        assertEquals(List.of(2L, 6L), List.of(boxed(Postings.intersect(new long[]{1, 2, 6}, new long[]{2, 3, 6}))));
+    }
+
+    @Test
+    void matchAll_whenListsOverlap_thenAscendingCommonIdsUpToLimit() {
+        Random random = new Random(42);
+        List<long[]> left = new ArrayList<>();
+        List<long[]> right = new ArrayList<>();
+        TreeSet<Long> leftIds = new TreeSet<>();
+        TreeSet<Long> rightIds = new TreeSet<>();
+        for (int i = 0; i < 20; i++) {
+            long[] list = random.longs(random.nextInt(50), 1, 300).distinct().sorted().toArray();
+            (i % 2 == 0 ? left : right).add(list);
+            Arrays.stream(list).forEach(i % 2 == 0 ? leftIds::add : rightIds::add);
+        }
+        left.add(new long[0]);
+        List<Long> union = new ArrayList<>(leftIds);
+        leftIds.retainAll(rightIds);
+        List<Long> common = new ArrayList<>(leftIds);
+
+        assertEquals(union, List.of(boxed(Postings.matchAll(List.of(new Postings.Union(left)), 1000))));
+        assertEquals(union.subList(0, 10), List.of(boxed(Postings.matchAll(List.of(new Postings.Union(left)), 10))));
+        assertEquals(common, List.of(boxed(Postings.matchAll(
+                List.of(new Postings.Union(left), new Postings.Union(right)), 1000))));
+        assertEquals(0, Postings.matchAll(List.of(new Postings.Union(List.of(new long[0]))), 10).length);
+    }
+
+    @Test
+    void search_whenIndexRebuiltConcurrently_thenResultsNeverPartial() throws Exception {
+        AtomicBoolean rebuilding = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    engine.rebuild();
+                }
+                rebuilding.set(false);
+            });
+
+            while (rebuilding.get()) {
+                assertEquals(List.of(1L, 3L), ids(engine.search("дрель", PageRequest.of(0, 10))));
+            }
+            rebuilds.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Long[] boxed(long[] ids) {
+        Long[] result = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder().id(id).name(name).description(description).available(available).build();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenSameNormalizedKey_thenLoadedOnce() {
+        search("Дрель", 0, 10);
+        search("дрЕЛЬ", 0, 10);
+        search("дрель", 10, 10);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void invalidate_whenItemTextChanged_thenOnlyMatchingEntriesDropped() {
+        search("дрель", 0, 10);
+        search("молоток", 0, 10);
+
+        cache.invalidate(item("Отвертка", "Простая", true), item("Дрель", "Простая", true));
+        search("дрель", 0, 10);
+        search("молоток", 0, 10);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate_whenItemBecameUnavailable_thenEntriesMatchingOldTextDropped() {
+        search("дрель акк", 0, 10);
+
+        cache.invalidate(item("Дрель", "Аккумуляторная", true), item("Дрель", "Аккумуляторная", false));
+        search("дрель акк", 0, 10);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_whenSearchableFieldsUnchanged_thenNothingDropped() {
+        search("дрель", 0, 10);
+
+        cache.invalidate(item("Дрель", "Простая", true), item("Дрель", "Простая", true));
+        search("дрель", 0, 10);
+
+        assertEquals(1, loads.get());
+    }
+
+    private void search(String text, int from, int size) {
+        cache.get(text, from, size, () -> {
+            loads.incrementAndGet();
+            return List.of(ItemDto.builder().name(text).build());
+        });
+    }
+
+    private static Item item(String name, String description, boolean available) {
+        return Item.builder().name(name).description(description).available(available).build();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+    private TrigramItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findAvailableAfter(eq(0L), any())).thenReturn(List.of(
+                item(1L, "Дрель аккумуляторная", "Простая дрель", true),
+                item(2L, "Отвертка", "Аккумуляторная отвертка", true),
+                item(3L, "Шуруповерт", "Дрель-шуруповерт", true)));
+        engine = new TrigramItemSearchEngine(itemRepository);
+        engine.rebuild();
+    }
+
+    @Test
+    void search_whenInfixFragment_thenItemsContainingFragmentReturned() {
+        assertEquals(List.of(1L, 3L), ids(engine.search("дрел", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 2L), ids(engine.search("КУМУЛЯТ", PageRequest.of(0, 10))));
+        assertEquals(List.of(2L, 3L), ids(engine.search("верт", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_whenTrigramsPresentButNotContiguous_thenItemNotReturned() {
+        assertTrue(engine.search("дрель отвертка", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3L), ids(engine.search("дрель-шуру", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_whenTextShorterThanTrigram_thenItemsScanned() {
+        assertEquals(List.of(1L, 3L), ids(engine.search("ре", PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(engine.search("ре", PageRequest.of(1, 1))));
+    }
+
+    @Test
+    void onItemSaved_whenItemBecomesUnavailable_thenItemNotReturned() {
+        engine.onItemSaved(item(1L, "Дрель аккумуляторная", "Простая дрель", false));
+
+        assertEquals(List.of(3L), ids(engine.search("дрел", PageRequest.of(0, 10))));
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder().id(id).name(name).description(description).available(available).build();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -10,7 +11,7 @@ import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
@@ -21,12 +22,16 @@ import ru.practicum.shareit.item.exception.AccessDeniedException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.impl.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -43,10 +48,12 @@ class ItemUnitTests {
     private ItemMapper itemMapper;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserExistenceChecker userExistenceChecker;
     @InjectMocks
     private ItemServiceImpl itemService;
     @Mock
-    private BookingRepository bookingRepository;
+    private ItemBookingSummaryService itemBookingSummaryService;
     @Mock
     private static ItemDto mockItemCreateDto;
     @Mock
@@ -55,6 +62,11 @@ class ItemUnitTests {
     private CommentRepository commentRepository;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Spy
+    private ItemSearchCache itemSearchCache = new ItemSearchCache(100, Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
     @Captor
     private ArgumentCaptor<ItemRequest> requestArgumentCaptor;
     @Captor
@@ -89,7 +101,7 @@ class ItemUnitTests {
                 .request(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceChecker.getReference(ownerId)).thenReturn(owner);
         when(itemMapper.toItem(itemDto, owner)).thenReturn(item);
         when(itemRepository.save(item)).thenReturn(item);
         when(itemMapper.toItemDto(item)).thenReturn(itemDto);
@@ -123,7 +135,7 @@ class ItemUnitTests {
                 .request(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceChecker.getReference(ownerId)).thenReturn(owner);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
         when(itemMapper.toItem(itemDto, owner)).thenReturn(existingItem);
         when(itemRepository.save(existingItem)).thenReturn(existingItem);
@@ -167,7 +179,7 @@ class ItemUnitTests {
                 .request(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceChecker.getReference(ownerId)).thenReturn(owner);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
         when(itemMapper.toItem(itemDto, owner)).thenReturn(newItem);
 
@@ -185,7 +197,7 @@ class ItemUnitTests {
                 .requestId(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(ownerId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemService.editItem(ownerId, itemId, itemDto));
     }
@@ -200,7 +212,7 @@ class ItemUnitTests {
                 .requestId(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(ownerId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemService.addItem(ownerId, itemDto));
     }
@@ -219,14 +231,13 @@ class ItemUnitTests {
                 .owner(owner)
                 .build();
 
-        Booking nextBooking = Booking.builder().id(1L).item(item).build();
-        Booking lastBooking = Booking.builder().id(2L).item(item).build();
+        Booking nextBooking = Booking.builder().id(1L).item(item).start(LocalDateTime.now().plusDays(1)).build();
+        Booking lastBooking = Booking.builder().id(2L).item(item).start(LocalDateTime.now().minusDays(1)).build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItem(item)).thenReturn(Collections.emptyList());
-        when(bookingRepository.findNextOrderedBookingsByItemId(itemId)).thenReturn(Collections.singletonList(nextBooking));
-        when(bookingRepository.findLastOrderedBookingsByItemId(itemId)).thenReturn(Collections.singletonList(lastBooking));
+        when(itemBookingSummaryService.findLastAndNext(eq(List.of(itemId)), any()))
+                .thenReturn(List.of(nextBooking, lastBooking));
 
         try {
             ItemDtoBookingComments itemDtoBookingComments = itemService.getItem(userId, itemId);
@@ -244,7 +255,7 @@ class ItemUnitTests {
     void getItemsByOwner_NonMatchingOwner_ReturnsEmptyList() {
         Long ownerId = 1L;
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(ownerId);
 
         try {
             List<ItemDtoBookingComments> result = itemService.getItemsByOwner(ownerId, 0, 10);
@@ -266,7 +277,7 @@ class ItemUnitTests {
                 .requestId(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(ownerId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemService.editItem(ownerId, itemId, itemDto));
     }
@@ -293,21 +304,20 @@ class ItemUnitTests {
                 .owner(owner)
                 .build();
 
-        Booking nextBooking1 = Booking.builder().id(1L).item(item1).build();
-        Booking nextBooking2 = Booking.builder().id(2L).item(item2).build();
-        Booking lastBooking1 = Booking.builder().id(3L).item(item1).build();
-        Booking lastBooking2 = Booking.builder().id(4L).item(item2).build();
+        LocalDateTime now = LocalDateTime.now();
+        Booking nextBooking1 = Booking.builder().id(1L).item(item1).start(now.plusDays(1)).build();
+        Booking nextBooking2 = Booking.builder().id(2L).item(item2).start(now.plusDays(1)).build();
+        Booking lastBooking1 = Booking.builder().id(3L).item(item1).start(now.minusDays(1)).build();
+        Booking lastBooking2 = Booking.builder().id(4L).item(item2).start(now.minusDays(1)).build();
 
         List<Item> itemList = Arrays.asList(item1, item2);
         List<Comment> allComments = Collections.emptyList();
-        List<Booking> nextBookingsList = Arrays.asList(nextBooking1, nextBooking2);
-        List<Booking> lastBookingsList = Arrays.asList(lastBooking1, lastBooking2);
+        List<Booking> lastAndNextBookings = Arrays.asList(nextBooking1, nextBooking2, lastBooking1, lastBooking2);
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
         when(itemRepository.findByOwnerId(PageRequest.of(from / size, size), ownerId)).thenReturn(itemList);
         when(commentRepository.findAllByItemIn(itemList)).thenReturn(allComments);
-        when(bookingRepository.findNextOrderedBookingsByItemIds(Arrays.asList(1L, 2L))).thenReturn(nextBookingsList);
-        when(bookingRepository.findLastOrderedBookingsByItemIds(Arrays.asList(1L, 2L))).thenReturn(lastBookingsList);
+        when(itemBookingSummaryService.findLastAndNext(eq(Arrays.asList(1L, 2L)), any()))
+                .thenReturn(lastAndNextBookings);
 
         try {
             List<ItemDtoBookingComments> result = itemService.getItemsByOwner(ownerId, from, size);
@@ -338,7 +348,7 @@ class ItemUnitTests {
                 .request(null)
                 .build();
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceChecker.getReference(ownerId)).thenReturn(owner);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(existingItem));
         when(itemMapper.toItem(itemDto, owner)).thenReturn(existingItem);
         when(itemRepository.save(existingItem)).thenReturn(existingItem);
@@ -369,8 +379,9 @@ class ItemUnitTests {
                 .owner(nonOwner)
                 .request(null)
                 .build();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(nonOwner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemMapper.toItemDtoBookingComments(eq(item), any())).thenReturn(ItemDtoBookingComments.builder()
+                .id(itemId).name("itemName").description("itemDescription").build());
 
         try {
             ItemDtoBookingComments result = itemService.getItem(userId, itemId);
@@ -401,7 +412,7 @@ class ItemUnitTests {
         Long userId = 1L;
         Long itemId = 1L;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(userId);
 
         assertThrows(AbsenceException.class, () -> itemService.getItem(userId, itemId));
     }
@@ -412,7 +423,6 @@ class ItemUnitTests {
         Long itemId = 1L;
         User user = new User(userId, "John Doe", "john@example.com");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(AbsenceException.class, () -> itemService.getItem(userId, itemId));
@@ -455,8 +465,8 @@ class ItemUnitTests {
                     .item(item)
                     .booker(owner)
                     .status(BookingStatus.APPROVED)
-                    .start(now.plusDays(i))
-                    .end(now.plusDays(i).plusHours(1))
+                    .start(i < 3 ? now.plusDays(i) : now.minusDays(i))
+                    .end(i < 3 ? now.plusDays(i).plusHours(1) : now.minusDays(i).plusHours(1))
                     .build();
             if (i < 3) {
                 nextBookingsList.add(booking);
@@ -465,10 +475,9 @@ class ItemUnitTests {
             }
         }
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findNextOrderedBookingsByItemId(itemId)).thenReturn(nextBookingsList);
-        when(bookingRepository.findLastOrderedBookingsByItemId(itemId)).thenReturn(lastBookingsList);
+        when(itemBookingSummaryService.findLastAndNext(eq(List.of(itemId)), any()))
+                .thenReturn(List.of(nextBookingsList.get(0), lastBookingsList.get(0)));
 
         try {
             ItemDtoBookingComments result = itemService.getItem(userId, itemId);
@@ -499,8 +508,9 @@ class ItemUnitTests {
                 .request(null)
                 .build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(new User(userId, "John Doe", "john@example.com")));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemMapper.toItemDtoBookingComments(eq(item), any())).thenReturn(ItemDtoBookingComments.builder()
+                .id(itemId).name("itemName").description("itemDescription").build());
 
         try {
             ItemDtoBookingComments result = itemService.getItem(userId, itemId);
@@ -548,8 +558,7 @@ class ItemUnitTests {
         Item someValidItem = getValidItem(1L);
         when(requestRepository.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(getValidUser(0L)));
+        when(userExistenceChecker.getReference(userId)).thenReturn(getValidUser(0L));
 
         when(itemMapper.toItem(any(ItemDto.class), any(User.class)))
                 .thenReturn(someValidItem);
@@ -579,8 +588,7 @@ class ItemUnitTests {
                 .available(true)
                 .build();
         Item someValidItem = getValidItem(1L);
-        when(userRepository.findById(0L))
-                .thenReturn(Optional.of(getValidUser(0L)));
+        when(userExistenceChecker.getReference(0L)).thenReturn(getValidUser(0L));
         when(itemMapper.toItem(any(ItemDto.class), any(User.class)))
                 .thenReturn(someValidItem);
         when(itemRepository.save(someValidItem))
@@ -588,8 +596,8 @@ class ItemUnitTests {
 
         itemService.addItem(userId, addedItemDto);
 
-        InOrder inOrder = inOrder(userRepository, itemMapper, itemRepository);
-        inOrder.verify(userRepository).findById(anyLong());
+        InOrder inOrder = inOrder(userExistenceChecker, itemMapper, itemRepository);
+        inOrder.verify(userExistenceChecker).getReference(anyLong());
         inOrder.verify(itemMapper).toItem(
                 any(ItemDto.class),
                 any(User.class));
@@ -606,8 +614,7 @@ class ItemUnitTests {
                 .available(true)
                 .build();
         Item someValidItem = getValidItem(1L);
-        when(userRepository.findById(0L))
-                .thenReturn(Optional.of(getValidUser(0L)));
+        when(userExistenceChecker.getReference(0L)).thenReturn(getValidUser(0L));
         when(itemMapper.toItem(any(ItemDto.class), any(User.class)))
                 .thenReturn(someValidItem);
         when(itemRepository.save(someValidItem))
@@ -639,6 +646,8 @@ class ItemUnitTests {
                 .id(itemId)
                 .owner(getValidUser(itemOwnerId))
                 .build();
+        when(userExistenceChecker.getReference(userIdFromRequest))
+                .thenThrow(new AbsenceException("User not exists"));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(savedItem));
 
         assertThrows(AbsenceException.class, () -> itemService.editItem(userIdFromRequest, itemId, getValidItemDto(itemId)));
@@ -661,6 +670,8 @@ class ItemUnitTests {
         ItemDto updateDto = ItemDto.builder()
                 .name("newName")
                 .build();
+        when(userExistenceChecker.getReference(userId)).thenReturn(owner);
+        when(itemMapper.toItem(updateDto, owner)).thenReturn(new ItemMapper(null).toItem(updateDto, owner));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(originalItem));
         when(itemRepository.save(any(Item.class)))
@@ -697,6 +708,8 @@ class ItemUnitTests {
         ItemDto updateDto = ItemDto.builder()
                 .description("newDescription")
                 .build();
+        when(userExistenceChecker.getReference(userId)).thenReturn(owner);
+        when(itemMapper.toItem(updateDto, owner)).thenReturn(new ItemMapper(null).toItem(updateDto, owner));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(originalItem));
         when(itemRepository.save(any(Item.class)))
@@ -734,6 +747,8 @@ class ItemUnitTests {
         ItemDto updateDto = ItemDto.builder()
                 .available(false)
                 .build();
+        when(userExistenceChecker.getReference(userId)).thenReturn(owner);
+        when(itemMapper.toItem(updateDto, owner)).thenReturn(new ItemMapper(null).toItem(updateDto, owner));
         when(itemRepository.findById(itemId))
                 .thenReturn(Optional.of(originalItem));
         when(itemRepository.save(any(Item.class)))
@@ -770,6 +785,7 @@ class ItemUnitTests {
         ItemDto updateDto = ItemDto.builder()
                 .requestId(newRequest.getId())
                 .build();
+        when(userExistenceChecker.getReference(userId)).thenThrow(new AbsenceException("User not exists"));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(originalItem));
         when(requestRepository.findById(newRequest.getId())).thenReturn(Optional.of(newRequest));
         when(itemRepository.save(any(Item.class)))
@@ -807,6 +823,7 @@ class ItemUnitTests {
         ItemDto updateDto = ItemDto.builder()
                 .requestId(invalidRequestId)
                 .build();
+        when(userExistenceChecker.getReference(userId)).thenThrow(new AbsenceException("User not exists"));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(originalItem));
         when(requestRepository.findById(invalidRequestId)).thenReturn(Optional.empty());
 
@@ -816,7 +833,7 @@ class ItemUnitTests {
     @Test
     void getById_whenUserNotFound_thenNotExistsExceptionThrown() {
         Long userId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(userId);
 
         assertThrows(AbsenceException.class, () -> itemService.getItem(userId, anyLong()));
     }
@@ -825,7 +842,6 @@ class ItemUnitTests {
     void getById_whenItemNotFound_thenNotExistsExceptionThrown() {
         Long userId = 0L;
         Long itemId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.of(getValidUser(userId)));
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(AbsenceException.class, () -> itemService.getItem(userId, itemId));
@@ -834,7 +850,7 @@ class ItemUnitTests {
     @Test
     void getUserItems_whenUserNotFound_thenNotExistsExceptionThrown() {
         Long userId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(userId);
 
         assertThrows(AbsenceException.class, () -> itemService.getItemsByOwner(userId, 0, 1));
     }
@@ -844,7 +860,6 @@ class ItemUnitTests {
         Long userId = 0L;
         int from = 0;
         int size = 1;
-        when(userRepository.findById(userId)).thenReturn(Optional.of(getValidUser(userId)));
 
         itemService.getItemsByOwner(userId, from, size);
 
@@ -857,7 +872,6 @@ class ItemUnitTests {
         Long userId = 0L;
         int from = 3;
         int size = 5;
-        when(userRepository.findById(userId)).thenReturn(Optional.of(getValidUser(userId)));
 
         itemService.getItemsByOwner(userId, from, size);
 
@@ -870,8 +884,6 @@ class ItemUnitTests {
         Long userId = 0L;
         int from = 5;
         int size = 3;
-        when(userRepository.findById(userId))
-                .thenReturn(Optional.of(getValidUser(userId)));
 
         itemService.getItemsByOwner(userId, from, size);
 
@@ -899,7 +911,7 @@ class ItemUnitTests {
 
         itemService.searchItem(userId, "text", from, size);
 
-        verify(itemRepository).searchByText(anyString(), pageRequestArgumentCaptor.capture());
+        verify(itemSearchEngine).search(anyString(), pageRequestArgumentCaptor.capture());
         assertEquals(0, pageRequestArgumentCaptor.getValue().getPageNumber());
     }
 
@@ -913,7 +925,7 @@ class ItemUnitTests {
 
         itemService.searchItem(userId, "text", from, size);
 
-        verify(itemRepository).searchByText(anyString(), pageRequestArgumentCaptor.capture());
+        verify(itemSearchEngine).search(anyString(), pageRequestArgumentCaptor.capture());
         assertEquals(0, pageRequestArgumentCaptor.getValue().getPageNumber());
     }
 
@@ -927,7 +939,7 @@ class ItemUnitTests {
 
         itemService.searchItem(userId, "text", from, size);
 
-        verify(itemRepository).searchByText(anyString(), pageRequestArgumentCaptor.capture());
+        verify(itemSearchEngine).search(anyString(), pageRequestArgumentCaptor.capture());
         assertEquals(1, pageRequestArgumentCaptor.getValue().getPageNumber());
     }
 
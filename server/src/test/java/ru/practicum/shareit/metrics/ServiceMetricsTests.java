@@ -0,0 +1,76 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class ServiceMetricsTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void serviceTimerIsTaggedWithBookingState() throws Exception {
+        UserDto user = userService.addUser(new UserDto(null, "metrics", "metrics-state@mail.ru"));
+        long before = timerCount("getByState", "WAITING");
+
+        mvc.perform(get("/bookings").param("state", "waiting").header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+
+        assertEquals(before + 1, timerCount("getByState", "WAITING"));
+        assertEquals(ServiceMetricsConfig.NO_STATE, meterRegistry.get(ServiceMetricsConfig.SERVICE_TIMER)
+                .tags("class", "UserServiceImpl", "method", "addUser").timer().getId().getTag("state"));
+    }
+
+    @Test
+    void domainExceptionsAreCounted() throws Exception {
+        double before = exceptionCount("AbsenceException");
+
+        mvc.perform(get("/users/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertEquals(before + 1, exceptionCount("AbsenceException"));
+    }
+
+    @Test
+    void prometheusEndpointPublishesServiceTimersAndExceptions() throws Exception {
+        mvc.perform(get("/users/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket{class=\"UserServiceImpl\"")))
+                .andExpect(content().string(containsString("shareit_exceptions_total{exception=\"AbsenceException\"")));
+    }
+
+    private long timerCount(String method, String state) {
+        Timer timer = meterRegistry.find(ServiceMetricsConfig.SERVICE_TIMER)
+                .tags("method", method, "state", state).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double exceptionCount(String exception) {
+        Counter counter = meterRegistry.find(ExceptionMetricsResolver.EXCEPTIONS_COUNTER)
+                .tag("exception", exception).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
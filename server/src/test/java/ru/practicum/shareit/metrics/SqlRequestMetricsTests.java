@@ -0,0 +1,91 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+        "shareit.sql.debug-headers=true",
+        "shareit.sql.slow-query-threshold=PT0S"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SqlRequestMetricsTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void statementsAndTimeAreReturnedAsHeadersAndMetrics() throws Exception {
+        UserDto user = userService.addUser(new UserDto(null, "sql", "sql-headers@mail.ru"));
+        long before = summaryCount();
+
+        MockHttpServletResponse response = mvc.perform(get("/users/{id}", user.getId())).andReturn().getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString().contains("sql-headers@mail.ru"));
+        assertTrue(Integer.parseInt(response.getHeader(SqlRequestMetricsFilter.STATEMENTS_HEADER)) >= 1);
+        assertNotNull(response.getHeader(SqlRequestMetricsFilter.TIME_HEADER));
+        assertEquals(before + 1, summaryCount());
+    }
+
+    @Test
+    void slowStatementsAreLoggedWithMaskedBindParameters(CapturedOutput output) throws Exception {
+        UserDto user = userService.addUser(new UserDto(null, "sql", "sql-slow@mail.ru"));
+
+        mvc.perform(get("/users/{id}", user.getId()));
+
+        assertTrue(output.getOut().contains("Slow SQL"));
+        assertTrue(output.getOut().contains("Params:[(?,?)]"));
+        assertFalse(output.getOut().contains("sql-slow@mail.ru"));
+    }
+
+    @Test
+    void bindParametersAreLoggedWhenEnabled(CapturedOutput output) throws Exception {
+        SqlStatementListener listener = new SqlStatementListener(Duration.ZERO, true);
+        QueryInfo query = new QueryInfo("SELECT * FROM users WHERE email = ?");
+        query.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{1, "sql-shown@mail.ru"})));
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setStatementType(StatementType.PREPARED);
+
+        listener.beforeQuery(execution, List.of(query));
+        listener.afterQuery(execution, List.of(query));
+
+        assertTrue(output.getOut().contains("Params:[(sql-shown@mail.ru)]"));
+    }
+
+    private long summaryCount() {
+        DistributionSummary summary = meterRegistry.find("shareit.db.statements")
+                .tags("method", "GET", "uri", "/users/{id}").summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CursorPageTests {
+
+    @Test
+    void toResponse_whenNextCursorPresent_thenHeaderSet() {
+        ResponseEntity<List<String>> response = CursorPage.toResponse(new CursorPage<>(List.of("a", "b"), "next"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("a", "b"), response.getBody());
+        assertEquals("next", response.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void toResponse_whenLastPage_thenNoHeader() {
+        ResponseEntity<List<String>> response = CursorPage.toResponse(new CursorPage<>(List.of("a"), null));
+
+        assertEquals(List.of("a"), response.getBody());
+        assertFalse(response.getHeaders().containsKey(CursorPage.NEXT_CURSOR_HEADER));
+    }
+}
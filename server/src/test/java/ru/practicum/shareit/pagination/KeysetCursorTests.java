@@ -0,0 +1,31 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.pagination.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+    @Test
+    void decode_whenEncoded_thenSameCursorReturned() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 3, 4, 5, 600), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_whenTokenBlank_thenFirstCursorReturned() {
+        assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(""));
+        assertEquals(KeysetCursor.FIRST, KeysetCursor.decode(null));
+    }
+
+    @Test
+    void decode_whenTokenMalformed_thenInvalidCursorExceptionThrown() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+}
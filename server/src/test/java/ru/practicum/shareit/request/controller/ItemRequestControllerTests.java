@@ -11,6 +11,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -24,6 +25,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -107,6 +109,20 @@ public class ItemRequestControllerTests {
                 .andExpect(jsonPath("$[0].items", hasSize(1)));
     }
 
+    @Test
+    @SneakyThrows
+    void getOtherItemRequestAfterCursor() {
+        when(requestService.getAllNotOwnerAfter(anyLong(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(itemRequestDto), "next"));
+
+        mvc.perform(get("/requests/all")
+                        .param("after", "")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class));
+    }
+
     @Test
     @SneakyThrows
     void getItemRequestById() {
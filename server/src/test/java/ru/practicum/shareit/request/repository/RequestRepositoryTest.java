@@ -6,6 +6,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -71,4 +73,29 @@ public class RequestRepositoryTest {
         assertThat(requests).hasSize(1).contains(itemRequest);
         em.clear();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findOtherSliceTest() {
+        User requester = new User(null, "John", "requester@user.com");
+        User viewer = new User(null, "Jane", "viewer@user.com");
+        em.persist(requester);
+        em.persist(viewer);
+        LocalDateTime created = LocalDateTime.of(2025, 10, 10, 10, 10, 10);
+        ItemRequest oldest = em.persist(new ItemRequest(null, "oldest", requester, created.minusDays(1)));
+        ItemRequest first = em.persist(new ItemRequest(null, "first", requester, created));
+        ItemRequest second = em.persist(new ItemRequest(null, "second", requester, created));
+        em.persist(new ItemRequest(null, "own", viewer, created.plusDays(1)));
+        em.flush();
+
+        Slice<ItemRequest> firstSlice = itemRequestRepository.findOtherSlice(viewer.getId(),
+                KeysetCursor.FIRST.getTimestamp(), KeysetCursor.FIRST.getId(), PageRequest.of(0, 2));
+        Slice<ItemRequest> secondSlice = itemRequestRepository.findOtherSlice(viewer.getId(),
+                first.getCreated(), first.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstSlice.getContent()).containsExactly(second, first);
+        assertThat(firstSlice.hasNext()).isTrue();
+        assertThat(secondSlice.getContent()).containsExactly(oldest);
+        assertThat(secondSlice.hasNext()).isFalse();
+        em.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ItemRequestQueryCountTests {
+
+    // Проверка пользователя, страница запросов и ответы на все запросы страницы
+    private static final long STATEMENTS = 3;
+    private static final int REQUESTS = 20;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManager em;
+    private Statistics statistics;
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        viewer = saveUser();
+        User requester = saveUser();
+        User owner = saveUser();
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder().description("request")
+                    .requester(requester).created(created.minusMinutes(i)).build());
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(Item.builder().name("item").description("description").available(true)
+                        .owner(owner).request(request.getId()).build());
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, REQUESTS})
+    void getAllNotOwner_whenPageSizeGrows_thenStatementCountConstant(int size) {
+        List<ItemRequestDto> requests = itemRequestService.getAllNotOwner(viewer.getId(), 0, size);
+
+        assertThat(requests, hasSize(size));
+        requests.forEach(request -> assertThat(request.getItems(), hasSize(2)));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(STATEMENTS));
+    }
+
+    private User saveUser() {
+        return userRepository.save(User.builder().name("user").email(UUID.randomUUID() + "@mail.ru").build());
+    }
+}
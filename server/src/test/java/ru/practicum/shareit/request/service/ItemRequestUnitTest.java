@@ -7,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.exception.AbsenceException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -17,7 +18,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.impl.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceChecker;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -32,7 +33,7 @@ import static org.mockito.Mockito.*;
 class ItemRequestUnitTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserExistenceChecker userExistenceChecker;
     @Mock
     private ItemRequestMapper itemRequestMapper;
     @Mock
@@ -47,7 +48,7 @@ class ItemRequestUnitTest {
     @Test
     void add_thenOwnerNotFound_thenNotExistsExceptionThrown() {
         Long ownerId = 0L;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(ownerId);
 
         assertThrows(AbsenceException.class, () -> itemRequestService.getItemRequestById(ownerId, 2L));
     }
@@ -55,7 +56,7 @@ class ItemRequestUnitTest {
     @Test
     void getAllUserItemRequests_whenOwnerNotFound_thenNotExistsExceptionThrown() {
         Long ownerId = 0L;
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        doThrow(new AbsenceException("User not exists")).when(userExistenceChecker).requireExists(ownerId);
 
         assertThrows(AbsenceException.class, () -> itemRequestService.getItemRequestById(ownerId, 2L));
     }
@@ -66,17 +67,17 @@ class ItemRequestUnitTest {
         int from = 5;
         int size = 2;
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(userId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemRequestService.getAllNotOwner(userId, from, size));
 
-        verify(userRepository, times(1)).findById(userId);
+        verify(userExistenceChecker, times(1)).getReference(userId);
     }
 
     @Test
     void getById_thenUserNotFound_thenNotExistsExceptionThrown() {
         Long userId = 0L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(userId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemRequestService.getOwnerResponse(userId));
     }
@@ -85,7 +86,6 @@ class ItemRequestUnitTest {
     void getById_thenRequestNotFound_thenNotExistsExceptionThrown() {
         Long userId = 0L;
         Long requestId = 1L;
-        when(userRepository.findById(userId)).thenReturn(Optional.ofNullable(getValidUser(userId)));
         when(requestRepository.findById(requestId)).thenReturn(Optional.empty());
 
         assertThrows(AbsenceException.class, () -> itemRequestService.getItemRequestById(userId, requestId));
@@ -98,7 +98,7 @@ class ItemRequestUnitTest {
         ItemRequestDto itemRequestDto = new ItemRequestDto(null, "description", null, null, null);
         ItemRequest itemRequest = new ItemRequest(null, "description", user, LocalDateTime.now());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userExistenceChecker.getReference(userId)).thenReturn(user);
         when(itemRequestMapper.toItemRequest(itemRequestDto, user)).thenReturn(itemRequest);
         when(requestRepository.save(itemRequest)).thenReturn(itemRequest);
 
@@ -116,7 +116,7 @@ class ItemRequestUnitTest {
         Long invalidUserId = 100L;
         ItemRequestDto itemRequestDto = new ItemRequestDto(null, "description", null, null, null);
 
-        when(userRepository.findById(invalidUserId)).thenReturn(Optional.empty());
+        when(userExistenceChecker.getReference(invalidUserId)).thenThrow(new AbsenceException("User not exists"));
 
         assertThrows(AbsenceException.class, () -> itemRequestService.addItemRequest(itemRequestDto, invalidUserId));
     }
@@ -129,7 +129,7 @@ class ItemRequestUnitTest {
         ItemRequest itemRequest2 = new ItemRequest(2L, "Description 2", requester, LocalDateTime.now().minusHours(1));
         List<ItemRequest> itemRequests = Arrays.asList(itemRequest1, itemRequest2);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(requester));
+        when(userExistenceChecker.getReference(userId)).thenReturn(requester);
         when(requestRepository.findAllByRequester(requester)).thenReturn(itemRequests);
         when(itemRequestMapper.toItemRequestDto(any(), any())).thenCallRealMethod();
 
@@ -147,11 +147,11 @@ class ItemRequestUnitTest {
         ItemRequest itemRequest1 = new ItemRequest(1L, "Description 1", new User(2L, "Requester 1", "requester1@example.com"), LocalDateTime.now());
         ItemRequest itemRequest2 = new ItemRequest(2L, "Description 2", new User(3L, "Requester 2", "requester2@example.com"), LocalDateTime.now().minusHours(1));
         List<ItemRequest> itemRequests = Arrays.asList(itemRequest1, itemRequest2);
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created", "id"));
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(userExistenceChecker.getReference(ownerId)).thenReturn(owner);
         when(requestRepository.findAllByRequesterNot(owner, pageable)).thenReturn(itemRequests);
-        when(itemRepository.findAllByRequest(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllByRequestIn(List.of(1L, 2L))).thenReturn(Collections.emptyList());
         when(itemRequestMapper.toItemRequestDto(any(), any())).thenCallRealMethod();
 
         List<ItemRequestDto> resultDtoList = itemRequestService.getAllNotOwner(ownerId, from, size);
@@ -169,9 +169,8 @@ class ItemRequestUnitTest {
         ItemRequest itemRequest = new ItemRequest(requestId, "Description", owner, LocalDateTime.now());
         List<Item> items = Arrays.asList(new Item(1L, "Item 1", "des", Boolean.TRUE, getValidUser(1L), 1L), new Item(2L, "Item 2", "des", Boolean.TRUE, getValidUser(1L), 1L));
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
         when(requestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
-        when(itemRepository.findAllByRequest(requestId)).thenReturn(items);
+        when(itemRepository.findAllByRequestIn(List.of(requestId))).thenReturn(items);
         when(itemMapper.toItemDto(any())).thenCallRealMethod();
         when(itemRequestMapper.toItemRequestDto(any(), any())).thenCallRealMethod();
 
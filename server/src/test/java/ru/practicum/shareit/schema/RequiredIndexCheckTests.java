@@ -0,0 +1,45 @@
+package ru.practicum.shareit.schema;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class RequiredIndexCheckTests {
+
+    private final DataSource dataSource;
+    private final RequiredIndexCheck requiredIndexCheck;
+
+    @Test
+    void findMissingIndexes_whenMigrated_thenNothingMissing() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(requiredIndexCheck.findMissingIndexes(connection).isEmpty());
+        }
+    }
+
+    @Test
+    void findMissingIndexes_whenIndexDropped_thenIndexReported() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX ix_items_owner");
+            try {
+                assertEquals(List.of("ix_items_owner"), requiredIndexCheck.findMissingIndexes(connection));
+            } finally {
+                statement.execute("CREATE INDEX ix_items_owner ON items (owner_id)");
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.exception.AbsenceException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceCheckerTests {
+
+    @Mock
+    private UserRepository userRepository;
+    private UserExistenceChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new UserExistenceChecker(userRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void requireExists_whenCheckedTwice_thenDatabaseQueriedOnce() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        checker.requireExists(1L);
+        checker.requireExists(1L);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void requireExists_whenUserNotFound_thenAbsenceExceptionThrownEveryTime() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(AbsenceException.class, () -> checker.requireExists(1L));
+        assertThrows(AbsenceException.class, () -> checker.requireExists(1L));
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void forget_whenUserDeleted_thenNextCheckGoesToDatabase() {
+        when(userRepository.existsById(1L)).thenReturn(true, false);
+        checker.requireExists(1L);
+
+        checker.forget(1L);
+
+        assertThrows(AbsenceException.class, () -> checker.requireExists(1L));
+    }
+}
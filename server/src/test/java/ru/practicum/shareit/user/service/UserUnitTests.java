@@ -31,6 +31,8 @@ class UserUnitTests {
     private UserServiceImpl userService;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserExistenceChecker userExistenceChecker;
 
     @BeforeAll
     static void setup() {
@@ -66,5 +68,6 @@ class UserUnitTests {
         userService.deleteUser(userId);
 
         verify(userRepository, times(1)).deleteById(userId);
+        verify(userExistenceChecker).forget(userId);
     }
 }
\ No newline at end of file